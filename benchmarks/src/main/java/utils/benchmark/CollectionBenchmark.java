@@ -0,0 +1,63 @@
+package utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.random.RandomSource;
+import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.FieldTraverser;
+import utils.traverser.InitializingTraversingProcessor;
+
+/**
+ * Populates collection-heavy graphs, going through list, set, map, array and nested collection initializers.
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionBenchmark {
+
+    private FieldTraverser traverser;
+    private RandomSource randomSource;
+
+    @Setup
+    public void setUp() {
+        traverser = new FieldTraverser(new InitializingTraversingProcessor());
+        randomSource = RandomSource.seeded(42);
+    }
+
+    @Benchmark
+    public Model.WithList list() {
+        return process(new Model.WithList());
+    }
+
+    @Benchmark
+    public Model.WithSet set() {
+        return process(new Model.WithSet());
+    }
+
+    @Benchmark
+    public Model.WithMap map() {
+        return process(new Model.WithMap());
+    }
+
+    @Benchmark
+    public Model.WithNestedCollections nestedCollections() {
+        return process(new Model.WithNestedCollections());
+    }
+
+    private <T> T process(T instance) {
+        return traverser.process(instance, new ClassTreeTraverserContext(traverser, randomSource));
+    }
+}
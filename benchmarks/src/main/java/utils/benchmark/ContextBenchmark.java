@@ -0,0 +1,74 @@
+package utils.benchmark;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.FieldTraverser;
+import utils.traverser.InitializingTraversingProcessor;
+import utils.traverser.TraverserNode;
+
+/**
+ * Measures extending path of {@link ClassTreeTraverserContext} at different depths.
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextBenchmark {
+
+    @Param({"0", "1", "5", "10", "15"})
+    public int depth;
+
+    private final TraverserNode node = new ConstantNode();
+    private ClassTreeTraverserContext context;
+
+    @Setup
+    public void setUp() {
+        context = new ClassTreeTraverserContext(new FieldTraverser(new InitializingTraversingProcessor()));
+        for (int i = 0; i < depth; i++) {
+            context = context.subNode(node);
+        }
+    }
+
+    @Benchmark
+    public ClassTreeTraverserContext subNode() {
+        return context.subNode(node);
+    }
+
+    @Benchmark
+    public List<TraverserNode> subNodeAndPath() {
+        return context.subNode(node).getNodesFromRoot();
+    }
+
+    private static class ConstantNode implements TraverserNode {
+        @Override
+        public Object getValue() {
+            return null;
+        }
+
+        @Override
+        public Type getGenericType() {
+            return Object.class;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return Object.class;
+        }
+    }
+}
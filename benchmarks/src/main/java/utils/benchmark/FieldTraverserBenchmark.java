@@ -0,0 +1,87 @@
+package utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.random.RandomSource;
+import utils.traverser.ClassTreeTraverser;
+import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.FieldTraverser;
+import utils.traverser.InitializingTraversingProcessor;
+import utils.traverser.PopulatingTraverser;
+
+/**
+ * Populates flat, numeric, deep and wide classes, using reflective {@link FieldTraverser} and {@link PopulatingTraverser}.
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldTraverserBenchmark {
+
+    private ClassTreeTraverser fieldTraverser;
+    private ClassTreeTraverser populatingTraverser;
+    private RandomSource randomSource;
+
+    @Setup
+    public void setUp() {
+        fieldTraverser = new FieldTraverser(new InitializingTraversingProcessor());
+        populatingTraverser = new PopulatingTraverser();
+        randomSource = RandomSource.seeded(42);
+    }
+
+    @Benchmark
+    public Model.Flat flat() {
+        return process(fieldTraverser, new Model.Flat());
+    }
+
+    @Benchmark
+    public Model.Deep deep() {
+        return process(fieldTraverser, new Model.Deep());
+    }
+
+    @Benchmark
+    public Model.Wide wide() {
+        return process(fieldTraverser, new Model.Wide());
+    }
+
+    @Benchmark
+    public Model.Numeric numeric() {
+        return process(fieldTraverser, new Model.Numeric());
+    }
+
+    @Benchmark
+    public Model.Numeric numericPopulating() {
+        return process(populatingTraverser, new Model.Numeric());
+    }
+
+    @Benchmark
+    public Model.Flat flatPopulating() {
+        return process(populatingTraverser, new Model.Flat());
+    }
+
+    @Benchmark
+    public Model.Deep deepPopulating() {
+        return process(populatingTraverser, new Model.Deep());
+    }
+
+    @Benchmark
+    public Model.Wide widePopulating() {
+        return process(populatingTraverser, new Model.Wide());
+    }
+
+    private <T> T process(ClassTreeTraverser traverser, T instance) {
+        return traverser.process(instance, new ClassTreeTraverserContext(traverser, randomSource));
+    }
+}
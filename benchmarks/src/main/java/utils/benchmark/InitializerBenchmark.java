@@ -0,0 +1,69 @@
+package utils.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.Initializers;
+import utils.initializers.Initializer;
+import utils.random.RandomSource;
+import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.FieldTraverser;
+import utils.traverser.InitializingTraversingProcessor;
+
+/**
+ * Measures each initializer on its own, for type of {@link Model.InitializerTargets} field given by parameter.
+ * {@link #dispatch} measures also lookup of the initializer.
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InitializerBenchmark {
+
+    @Param({"primitiveInt", "integer", "primitiveBoolean", "string", "uuid", "date", "color",
+            "list", "set", "map", "collection", "array", "intArray", "byteArray", "bean"})
+    public String field;
+
+    private Initializers initializers;
+    private Initializer initializer;
+    private Class<?> type;
+    private Type genericType;
+    private ClassTreeTraverserContext context;
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        Field targetField = Model.InitializerTargets.class.getField(field);
+        type = targetField.getType();
+        genericType = targetField.getGenericType();
+
+        initializers = new Initializers();
+        initializer = initializers.getSoleInitializer(type, genericType);
+
+        FieldTraverser traverser = new FieldTraverser(new InitializingTraversingProcessor(initializers));
+        context = new ClassTreeTraverserContext(traverser, RandomSource.seeded(42));
+    }
+
+    @Benchmark
+    public Object getValue() {
+        return initializer.getValue(type, genericType, context);
+    }
+
+    @Benchmark
+    public Object dispatch() {
+        return initializers.generateValue(type, genericType, context);
+    }
+}
@@ -0,0 +1,160 @@
+package utils.benchmark;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import utils.traverser.CompileTimePlan;
+
+/**
+ * Classes used as benchmark subjects.
+ * */
+@SuppressWarnings("unused")
+public final class Model {
+
+    private Model() {
+    }
+
+    public enum Color {
+        RED, GREEN, BLUE
+    }
+
+    /**
+     * Flat DTO with leaf fields only.
+     * */
+    public static class Flat {
+        public int id;
+        public boolean active;
+        public Integer count;
+        public String name;
+        public String description;
+        public UUID uuid;
+        public Date created;
+        public Color color;
+    }
+
+    /**
+     * Entity with primitive fields only.
+     * */
+    public static class Numeric {
+        public int i1, i2, i3, i4;
+        public long l1, l2, l3, l4;
+        public double d1, d2;
+        public float f1, f2;
+        public short s1;
+        public byte b1;
+        public char c1;
+        public boolean z1;
+    }
+
+    /**
+     * Chain of nested DTOs, 8 levels deep.
+     * */
+    public static class Deep {
+        public int value;
+        public Deep1 next;
+    }
+
+    public static class Deep1 {
+        public int value;
+        public Deep2 next;
+    }
+
+    public static class Deep2 {
+        public int value;
+        public Deep3 next;
+    }
+
+    public static class Deep3 {
+        public int value;
+        public Deep4 next;
+    }
+
+    public static class Deep4 {
+        public int value;
+        public Deep5 next;
+    }
+
+    public static class Deep5 {
+        public int value;
+        public Deep6 next;
+    }
+
+    public static class Deep6 {
+        public int value;
+        public Deep7 next;
+    }
+
+    public static class Deep7 {
+        public int value;
+        public String name;
+    }
+
+    /**
+     * DTO with many leaf fields, spread over class hierarchy.
+     * */
+    public static class WideParent {
+        public int p1, p2, p3, p4, p5, p6, p7, p8, p9, p10;
+        public Integer b1, b2, b3, b4, b5, b6, b7, b8, b9, b10;
+    }
+
+    public static class Wide extends WideParent {
+        public String s1, s2, s3, s4, s5, s6, s7, s8, s9, s10;
+        public boolean f1, f2, f3, f4, f5, f6, f7, f8, f9, f10;
+        public Date d1, d2, d3, d4, d5;
+        public Color c1, c2, c3, c4, c5;
+    }
+
+    /**
+     * Same fields as {@link Wide}, accessed by code generated by annotation processor.
+     * */
+    @CompileTimePlan
+    public static class PlannedWide extends WideParent {
+        public String s1, s2, s3, s4, s5, s6, s7, s8, s9, s10;
+        public boolean f1, f2, f3, f4, f5, f6, f7, f8, f9, f10;
+        public Date d1, d2, d3, d4, d5;
+        public Color c1, c2, c3, c4, c5;
+    }
+
+    public static class WithList {
+        public List<Flat> items;
+    }
+
+    public static class WithSet {
+        public Set<Flat> items;
+    }
+
+    public static class WithMap {
+        public Map<String, Flat> items;
+    }
+
+    public static class WithNestedCollections {
+        public List<List<Integer>> matrix;
+        public Map<String, Set<Color>> tags;
+        public Flat[] array;
+    }
+
+    /**
+     * Fields used to benchmark single initializers. Benchmarks use field types, not values.
+     * */
+    public static class InitializerTargets {
+        public int primitiveInt;
+        public Integer integer;
+        public boolean primitiveBoolean;
+        public String string;
+        public UUID uuid;
+        public Date date;
+        public Color color;
+        public List<Integer> list;
+        public Set<Integer> set;
+        public Map<Integer, Integer> map;
+        public Collection<Integer> collection;
+        public Integer[] array;
+        public int[] intArray;
+        public byte[] byteArray;
+        public Flat bean;
+    }
+}
@@ -0,0 +1,70 @@
+package utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.random.RandomSource;
+import utils.traverser.ClassTreeTraverser;
+import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.CompileTimePlan;
+import utils.traverser.PopulatingTraverser;
+import utils.traverser.TypePlan;
+
+/**
+ * Measures first use of class in fresh JVM, with and without {@link CompileTimePlan}. Each fork measures single call.
+ *
+ * Setup populates unrelated class, so classes of this library and method handle infrastructure are already loaded, and
+ * only costs specific to planned class are measured. Populating measures also matching of initializers to fields,
+ * which is reflective for both classes.
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    private ClassTreeTraverser traverser;
+    private RandomSource randomSource;
+
+    @Setup
+    public void setUp() {
+        traverser = new PopulatingTraverser();
+        randomSource = RandomSource.seeded(42);
+        process(new Model.Flat());
+    }
+
+    @Benchmark
+    public TypePlan plan() {
+        return TypePlan.of(Model.Wide.class);
+    }
+
+    @Benchmark
+    public TypePlan compileTimePlan() {
+        return TypePlan.of(Model.PlannedWide.class);
+    }
+
+    @Benchmark
+    public Model.Wide populate() {
+        return process(new Model.Wide());
+    }
+
+    @Benchmark
+    public Model.PlannedWide compileTimePopulate() {
+        return process(new Model.PlannedWide());
+    }
+
+    private <T> T process(T instance) {
+        return traverser.process(instance, new ClassTreeTraverserContext(traverser, randomSource));
+    }
+}
@@ -0,0 +1,29 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Single invocation of {@link utils.initializers.Initializer}, including generation of nested values.
+ * */
+@Name("utils.Initialization")
+@Label("Initialization")
+@Description("Value generated by initializer, including nested values")
+@Category({"Instance Reflection Util"})
+@Threshold("1 ms")
+@StackTrace(false)
+class InitializationEvent extends Event {
+    @Label("Type")
+    Class<?> type;
+
+    @Label("Initializer")
+    Class<?> initializer;
+
+    @Label("Depth")
+    int depth;
+}
@@ -0,0 +1,157 @@
+package utils.jfr;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import utils.Initializers;
+import utils.initializers.Initializer;
+import utils.traverser.ClassTreeTraverserContext;
+
+/**
+ * Initializer emitting {@link InitializationEvent} for each invocation of delegate initializer.
+ *
+ * Events shorter than threshold (1 ms by default, configurable in recording settings as {@code utils.Initialization})
+ * are not recorded.
+ *
+ * Delegate is exposed by {@link #unwrap()}, so wrapping keeps optimizations depending on type of initializer, ie.
+ * lookup of {@link utils.initializers.SimpleInitializer} by exact class. Objects, which
+ * {@link utils.sink.SinkGenerator} writes field by field instead of asking their
+ * {@link utils.initializers.DefaultConstructorInitializer}, are not recorded; their fields are.
+ * */
+public class RecordingInitializer implements Initializer {
+    private final Initializer delegate;
+
+    public RecordingInitializer(Initializer delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return given initializers, each wrapped in {@link RecordingInitializer}, in the same order.
+     * */
+    public static List<Initializer> wrapAll(List<Initializer> initializers) {
+        List<Initializer> result = new ArrayList<>(initializers.size());
+        for (Initializer initializer : initializers) {
+            result.add(new RecordingInitializer(initializer));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean canProvideValueFor(Class<?> type, Type genericType) {
+        return delegate.canProvideValueFor(type, genericType);
+    }
+
+    @Override
+    public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        Object result = delegate.getValue(type, genericType, context);
+        commit(event, type, context);
+        return result;
+    }
+
+    @Override
+    public Object refillValue(Object existingValue,
+                              Class<?> type,
+                              Type genericType,
+                              ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        Object result = delegate.refillValue(existingValue, type, genericType, context);
+        commit(event, type, context);
+        return result;
+    }
+
+    @Override
+    public boolean getBoolean(ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        boolean result = delegate.getBoolean(context);
+        commit(event, Boolean.TYPE, context);
+        return result;
+    }
+
+    @Override
+    public byte getByte(ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        byte result = delegate.getByte(context);
+        commit(event, Byte.TYPE, context);
+        return result;
+    }
+
+    @Override
+    public char getChar(ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        char result = delegate.getChar(context);
+        commit(event, Character.TYPE, context);
+        return result;
+    }
+
+    @Override
+    public short getShort(ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        short result = delegate.getShort(context);
+        commit(event, Short.TYPE, context);
+        return result;
+    }
+
+    @Override
+    public int getInt(ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        int result = delegate.getInt(context);
+        commit(event, Integer.TYPE, context);
+        return result;
+    }
+
+    @Override
+    public long getLong(ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        long result = delegate.getLong(context);
+        commit(event, Long.TYPE, context);
+        return result;
+    }
+
+    @Override
+    public float getFloat(ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        float result = delegate.getFloat(context);
+        commit(event, Float.TYPE, context);
+        return result;
+    }
+
+    @Override
+    public double getDouble(ClassTreeTraverserContext context) {
+        InitializationEvent event = new InitializationEvent();
+        event.begin();
+        double result = delegate.getDouble(context);
+        commit(event, Double.TYPE, context);
+        return result;
+    }
+
+    @Override
+    public void setInitializers(Initializers initializers) {
+        delegate.setInitializers(initializers);
+    }
+
+    @Override
+    public Initializer unwrap() {
+        return delegate.unwrap();
+    }
+
+    private void commit(InitializationEvent event, Class<?> type, ClassTreeTraverserContext context) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = type;
+            event.initializer = delegate.getClass();
+            event.depth = context.getDepth();
+            event.commit();
+        }
+    }
+}
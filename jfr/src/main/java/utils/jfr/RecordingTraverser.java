@@ -0,0 +1,73 @@
+package utils.jfr;
+
+import utils.traverser.ClassTreeTraverser;
+import utils.traverser.ClassTreeTraverserContext;
+
+/**
+ * Traverser emitting {@link TraversalEvent} for each call of delegate traverser, which starts at depth not greater
+ * than configured maximum. By default only top-level calls are recorded; nested calls, made by initializers through
+ * context for instances deeper in graph, are recorded only if maximum depth allows it. Time of each call includes
+ * nested calls.
+ *
+ * Nested calls pass through this traverser only if they use context created by it, ie. by {@link #process(Object)},
+ * or context created with this traverser.
+ *
+ * Events shorter than threshold (10 ms by default, configurable in recording settings as {@code utils.Traversal}) are
+ * not recorded.
+ * */
+public class RecordingTraverser implements ClassTreeTraverser {
+    private final ClassTreeTraverser delegate;
+    private final int maxRecordedDepth;
+
+    public RecordingTraverser(ClassTreeTraverser delegate) {
+        this(delegate, 0);
+    }
+
+    /**
+     * @param maxRecordedDepth calls starting at greater depth are not recorded. 0 records only top-level calls.
+     * */
+    public RecordingTraverser(ClassTreeTraverser delegate, int maxRecordedDepth) {
+        if (maxRecordedDepth < 0) {
+            throw new IllegalArgumentException("Max recorded depth cannot be negative: " + maxRecordedDepth);
+        }
+        this.delegate = delegate;
+        this.maxRecordedDepth = maxRecordedDepth;
+    }
+
+    @Override
+    public <T> T process(T instance) {
+        return process(instance, instance.getClass());
+    }
+
+    @Override
+    public <T> T process(T instance, ClassTreeTraverserContext context) {
+        return process(instance, instance.getClass(), context);
+    }
+
+    @Override
+    public <T> T process(T instance, Class<?> startClass) {
+        return process(instance, startClass, new ClassTreeTraverserContext(this));
+    }
+
+    @Override
+    public <T> T process(T instance, Class<?> startClass, ClassTreeTraverserContext context) {
+        if (context.getDepth() > maxRecordedDepth) {
+            return delegate.process(instance, startClass, context);
+        }
+
+        TraversalEvent event = new TraversalEvent();
+        event.begin();
+        T result = delegate.process(instance, startClass, context);
+        commit(event, startClass, context.getDepth());
+        return result;
+    }
+
+    private static void commit(TraversalEvent event, Class<?> type, int depth) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = type;
+            event.depth = depth;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package utils.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Call of {@link utils.traverser.ClassTreeTraverser#process}, including processing of whole graph below traversed
+ * instance.
+ * */
+@Name("utils.Traversal")
+@Label("Traversal")
+@Description("Traversal of instance, including generation of its whole graph")
+@Category({"Instance Reflection Util"})
+@Threshold("10 ms")
+@StackTrace(false)
+class TraversalEvent extends Event {
+    @Label("Type")
+    Class<?> type;
+
+    @Label("Depth")
+    @Description("Depth of context traversal started in")
+    int depth;
+}
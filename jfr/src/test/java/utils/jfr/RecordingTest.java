@@ -0,0 +1,115 @@
+package utils.jfr;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import utils.Initializers;
+import utils.initializers.DefaultConstructorInitializer;
+import utils.initializers.Initializer;
+import utils.sink.RecordFormat;
+import utils.sink.SinkGenerator;
+import utils.traverser.ClassTreeTraverser;
+import utils.traverser.PopulatingTraverser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RecordingTest {
+
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        Initializers initializers =
+                new Initializers(RecordingInitializer.wrapAll(Initializers.createDefaultInitializers()));
+        ClassTreeTraverser traverser = new RecordingTraverser(new PopulatingTraverser(initializers));
+
+        Path file = Files.createTempFile("recording", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TraversalEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(InitializationEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            traverser.process(new Person());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        List<RecordedEvent> traversals = events.stream()
+                .filter(e -> e.getEventType().getName().equals("utils.Traversal"))
+                .collect(Collectors.toList());
+        assertEquals(1, traversals.size());
+        assertEquals(Person.class.getName(), traversals.get(0).getClass("type").getName());
+
+        assertTrue(events.stream()
+                .filter(e -> e.getEventType().getName().equals("utils.Initialization"))
+                .anyMatch(e -> e.getClass("type").getName().equals(Address.class.getName())
+                        && e.getInt("depth") == 1));
+    }
+
+    @Test
+    public void testNestedTraversalsAreRecordedUpToMaxDepth() throws Exception {
+        ClassTreeTraverser traverser = new RecordingTraverser(new PopulatingTraverser(), 1);
+
+        Path file = Files.createTempFile("recording", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TraversalEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            traverser.process(new Person());
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> traversals = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("utils.Traversal"))
+                .collect(Collectors.toList());
+        Files.delete(file);
+
+        assertEquals(2, traversals.size());
+        assertTrue(traversals.stream().anyMatch(e -> e.getClass("type").getName().equals(Person.class.getName())
+                && e.getInt("depth") == 0));
+        assertTrue(traversals.stream().anyMatch(e -> e.getClass("type").getName().equals(Address.class.getName())
+                && e.getInt("depth") == 1));
+    }
+
+    @Test
+    public void testRecordingInitializerExposesDelegate() throws Exception {
+        Initializers initializers =
+                new Initializers(RecordingInitializer.wrapAll(Initializers.createDefaultInitializers()));
+        Initializer initializer = initializers.getSoleInitializer(Address.class, Address.class);
+
+        assertTrue(initializer instanceof RecordingInitializer);
+        assertTrue(initializer.unwrap() instanceof DefaultConstructorInitializer);
+
+        ByteArrayOutputStream recorded = new ByteArrayOutputStream();
+        new SinkGenerator(initializers, 7).write(Person.class, 0, 10, RecordFormat.JSON_LINES,
+                Channels.newChannel(recorded));
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        new SinkGenerator(7).write(Person.class, 0, 10, RecordFormat.JSON_LINES, Channels.newChannel(plain));
+
+        assertEquals(plain.toString("UTF-8"), recorded.toString("UTF-8"));
+    }
+
+    public static class Person {
+        public String name;
+        public int age;
+        public Address address;
+    }
+
+    public static class Address {
+        public String street;
+    }
+}
@@ -0,0 +1,296 @@
+package utils.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import utils.traverser.CompileTimePlan;
+import utils.traverser.GeneratedFieldAccess;
+
+/**
+ * Generates {@link GeneratedFieldAccess} for each class annotated by {@link CompileTimePlan}. Generated class reads
+ * and writes fields of annotated class, and of its superclasses, directly; fields it cannot access that way (private,
+ * final, or not visible from package of annotated class) are left to method handles created at runtime.
+ * */
+@SupportedAnnotationTypes("utils.traverser.CompileTimePlan")
+public class FieldAccessProcessor extends AbstractProcessor {
+
+    private static final String[] PRIMITIVE_NAMES =
+            {"Boolean", "Byte", "Char", "Short", "Int", "Long", "Float", "Double"};
+    private static final TypeKind[] PRIMITIVE_KINDS = {TypeKind.BOOLEAN, TypeKind.BYTE, TypeKind.CHAR, TypeKind.SHORT,
+            TypeKind.INT, TypeKind.LONG, TypeKind.FLOAT, TypeKind.DOUBLE};
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(CompileTimePlan.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@CompileTimePlan can be used only on classes.");
+                continue;
+            }
+
+            TypeElement type = (TypeElement) element;
+            PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+            if (!isAccessible(type, packageElement)) {
+                error(element, "Class annotated by @CompileTimePlan has to be visible from its package.");
+                continue;
+            }
+
+            try {
+                generate(type, packageElement);
+            } catch (IOException e) {
+                error(element, "Cannot generate field access: " + e);
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement type, PackageElement packageElement) throws IOException {
+        List<AccessibleField> fields = findAccessibleFields(type, packageElement);
+
+        String packageName = packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                + GeneratedFieldAccess.CLASS_NAME_SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("/**\n")
+                .append(" * Field access of {@link ").append(type.getQualifiedName()).append("}, generated by ")
+                .append(FieldAccessProcessor.class.getName()).append(". Do not edit.\n")
+                .append(" * */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleName)
+                .append(" implements ").append(GeneratedFieldAccess.class.getName()).append(" {\n");
+
+        sb.append("    private static final String[] FIELD_KEYS = {\n");
+        for (AccessibleField field : fields) {
+            sb.append("            \"").append(field.key).append("\",\n");
+        }
+        sb.append("    };\n\n");
+
+        sb.append("    @Override\n")
+                .append("    public String[] getFieldKeys() {\n")
+                .append("        return FIELD_KEYS.clone();\n")
+                .append("    }\n");
+
+        appendGetter(sb, "Object", "get", fields, null);
+        appendSetter(sb, "Object", "set", fields, null);
+        for (int i = 0; i < PRIMITIVE_KINDS.length; i++) {
+            if (hasFieldOfKind(fields, PRIMITIVE_KINDS[i])) {
+                String primitive = PRIMITIVE_KINDS[i].name().toLowerCase(Locale.ROOT);
+                appendGetter(sb, primitive, "get" + PRIMITIVE_NAMES[i], fields, PRIMITIVE_KINDS[i]);
+                appendSetter(sb, primitive, "set" + PRIMITIVE_NAMES[i], fields, PRIMITIVE_KINDS[i]);
+            }
+        }
+        sb.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+    private static boolean hasFieldOfKind(List<AccessibleField> fields, TypeKind kind) {
+        for (AccessibleField field : fields) {
+            if (field.type.getKind() == kind) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param kind kind of fields to generate method for, null to generate boxing method for all fields.
+     * */
+    private static void appendGetter(StringBuilder sb,
+                                     String returnType,
+                                     String methodName,
+                                     List<AccessibleField> fields,
+                                     TypeKind kind) {
+        sb.append("\n    @Override\n")
+                .append("    public ").append(returnType).append(' ').append(methodName)
+                .append("(int field, Object instance) {\n")
+                .append("        switch (field) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            AccessibleField field = fields.get(i);
+            if (kind == null || field.type.getKind() == kind) {
+                sb.append("            case ").append(i).append(":\n")
+                        .append("                return ((").append(field.ownerTypeName).append(") instance).")
+                        .append(field.name).append(";\n");
+            }
+        }
+        sb.append("            default:\n")
+                .append("                throw ").append(GeneratedFieldAccess.class.getName())
+                .append(".notGenerated(field);\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    private static void appendSetter(StringBuilder sb,
+                                     String valueType,
+                                     String methodName,
+                                     List<AccessibleField> fields,
+                                     TypeKind kind) {
+        sb.append("\n    @Override\n")
+                .append("    public void ").append(methodName).append("(int field, Object instance, ")
+                .append(valueType).append(" value) {\n")
+                .append("        switch (field) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            AccessibleField field = fields.get(i);
+            if (kind == null || field.type.getKind() == kind) {
+                sb.append("            case ").append(i).append(":\n")
+                        .append("                ((").append(field.ownerTypeName).append(") instance).")
+                        .append(field.name).append(" = ");
+                if (kind == null) {
+                    sb.append('(').append(field.boxedTypeName).append(") ");
+                }
+                sb.append("value;\n")
+                        .append("                return;\n");
+            }
+        }
+        sb.append("            default:\n")
+                .append("                throw ").append(GeneratedFieldAccess.class.getName())
+                .append(".notGenerated(field);\n")
+                .append("        }\n")
+                .append("    }\n");
+    }
+
+    /**
+     * Collects fields of given class and its superclasses, which generated code can access directly.
+     * */
+    private List<AccessibleField> findAccessibleFields(TypeElement type, PackageElement packageElement) {
+        List<AccessibleField> result = new ArrayList<>();
+        for (TypeElement current = type; current != null; current = getSuperclass(current)) {
+            if (current.getQualifiedName().contentEquals("java.lang.Object")) {
+                break;
+            }
+            if (!isAccessible(current, packageElement)) {
+                continue;
+            }
+
+            String binaryName = processingEnv.getElementUtils().getBinaryName(current).toString();
+            String ownerTypeName = processingEnv.getTypeUtils().erasure(current.asType()).toString();
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC)
+                        || modifiers.contains(Modifier.FINAL)
+                        || !isMemberAccessible(field, current, packageElement)) {
+                    continue;
+                }
+
+                TypeMirror fieldType = processingEnv.getTypeUtils().erasure(field.asType());
+                if (!isTypeAccessible(fieldType, packageElement)) {
+                    continue;
+                }
+
+                result.add(new AccessibleField(binaryName + '#' + field.getSimpleName(),
+                        field.getSimpleName().toString(),
+                        ownerTypeName,
+                        fieldType,
+                        getBoxedTypeName(fieldType)));
+            }
+        }
+        return result;
+    }
+
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED
+                ? (TypeElement) ((DeclaredType) superclass).asElement()
+                : null;
+    }
+
+    private String getBoxedTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type)
+                    .getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * @return true if given field can be accessed from given package through its declaring class.
+     * */
+    private boolean isMemberAccessible(Element member, TypeElement declaringType, PackageElement packageElement) {
+        Set<Modifier> modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        return modifiers.contains(Modifier.PUBLIC)
+                || processingEnv.getElementUtils().getPackageOf(declaringType).equals(packageElement);
+    }
+
+    private boolean isTypeAccessible(TypeMirror type, PackageElement packageElement) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isTypeAccessible(((ArrayType) type).getComponentType(), packageElement);
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            return isAccessible((TypeElement) ((DeclaredType) type).asElement(), packageElement);
+        } else {
+            return type.getKind().isPrimitive();
+        }
+    }
+
+    /**
+     * @return true if given class, and all classes enclosing it, are visible from given package.
+     * */
+    private boolean isAccessible(TypeElement type, PackageElement packageElement) {
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            TypeElement currentType = (TypeElement) current;
+            if (currentType.getNestingKind() == NestingKind.LOCAL
+                    || currentType.getNestingKind() == NestingKind.ANONYMOUS
+                    || !isMemberAccessible(currentType, currentType, packageElement)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class AccessibleField {
+        private final String key;
+        private final String name;
+        private final String ownerTypeName;
+        private final TypeMirror type;
+        private final String boxedTypeName;
+
+        private AccessibleField(String key, String name, String ownerTypeName, TypeMirror type, String boxedTypeName) {
+            this.key = key;
+            this.name = name;
+            this.ownerTypeName = ownerTypeName;
+            this.type = type;
+            this.boxedTypeName = boxedTypeName;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package utils.processor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import utils.traverser.CompileTimePlan;
+import utils.traverser.FieldAccessor;
+import utils.traverser.GeneratedFieldAccess;
+import utils.traverser.PopulatingTraverser;
+import utils.traverser.TypePlan;
+import utils.traverser.TypePlan.FieldPlan;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class FieldAccessProcessorTest {
+
+    @Test
+    public void testAccessIsGeneratedForVisibleMutableFields() throws Exception {
+        Class<?> generatedClass = Class.forName(Annotated.class.getName() + GeneratedFieldAccess.CLASS_NAME_SUFFIX);
+        GeneratedFieldAccess access = (GeneratedFieldAccess) generatedClass.getConstructor().newInstance();
+
+        List<String> keys = Arrays.asList(access.getFieldKeys());
+        assertThat(keys, hasItems(
+                GeneratedFieldAccess.getFieldKey(Annotated.class, "count"),
+                GeneratedFieldAccess.getFieldKey(Annotated.class, "name"),
+                GeneratedFieldAccess.getFieldKey(Annotated.class, "items"),
+                GeneratedFieldAccess.getFieldKey(Base.class, "flag")));
+        assertThat(keys, not(hasItems(GeneratedFieldAccess.getFieldKey(Annotated.class, "secret"))));
+        assertThat(keys, not(hasItems(GeneratedFieldAccess.getFieldKey(Annotated.class, "constant"))));
+    }
+
+    @Test
+    public void testPlanUsesGeneratedAndReflectiveAccessTogether() {
+        Annotated instance = new Annotated();
+        for (FieldPlan field : TypePlan.of(Annotated.class).getFields()) {
+            FieldAccessor accessor = field.getAccessor();
+            switch (field.getName()) {
+                case "count":
+                    accessor.setInt(instance, 5);
+                    assertThat(accessor.getInt(instance), is(5));
+                    assertThat(accessor.get(instance), is((Object) 5));
+                    break;
+                case "letter":
+                    accessor.set(instance, 'x');
+                    assertThat(accessor.getChar(instance), is('x'));
+                    break;
+                case "secret":
+                    accessor.setLong(instance, 7L);
+                    break;
+                case "flag":
+                    accessor.setBoolean(instance, true);
+                    break;
+                case "name":
+                    accessor.set(instance, "name");
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        assertThat(instance.count, is(5));
+        assertThat(instance.letter, is('x'));
+        assertThat(instance.getSecret(), is(7L));
+        assertThat(instance.flag, is(true));
+        assertThat(instance.name, is("name"));
+    }
+
+    @Test
+    public void testAnnotatedClassIsPopulated() {
+        Annotated instance = new PopulatingTraverser().process(new Annotated());
+
+        assertThat(instance.name, notNullValue());
+        assertThat(instance.items, notNullValue());
+        assertThat(instance.values, notNullValue());
+        assertThat(instance.nested, notNullValue());
+    }
+
+    //--------------------------------------------------
+
+    public static class Base {
+        protected boolean flag;
+    }
+
+    @CompileTimePlan
+    public static class Annotated extends Base {
+        public int count;
+        String name;
+        char letter;
+        private long secret;
+        public final String constant = "constant";
+        List<String> items;
+        double[] values;
+        Nested<String> nested;
+
+        public long getSecret() {
+            return secret;
+        }
+    }
+
+    @CompileTimePlan
+    public static class Nested<T> {
+        public T value;
+    }
+}
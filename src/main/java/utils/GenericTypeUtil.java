@@ -4,13 +4,22 @@ import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 public class GenericTypeUtil {
-    private static final Logger logger = LoggerFactory.getLogger(GenericTypeUtil.class);
+
+    /**
+     * Array classes per component class. There's no way to get array class from component class without creating
+     * array instance in Java 8, so it's done only once per class. Kept by component class, so it does not prevent
+     * unloading of classes, nor grows with number of generic types referring to them.
+     * */
+    private static final ClassValue<Class<?>> ARRAY_CLASSES = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> componentClass) {
+            return Array.newInstance(componentClass, 0).getClass();
+        }
+    };
 
     public static Class<?> getClassType(Type genericType) {
         if (genericType instanceof Class) {
@@ -18,29 +27,21 @@ public class GenericTypeUtil {
         } else if (genericType instanceof ParameterizedType) {
             return (Class)((ParameterizedType)genericType).getRawType();
         } else if (genericType instanceof GenericArrayType) {
-            GenericArrayType genericArrayType = (GenericArrayType) genericType;
-            Type genericComponentType = genericArrayType.getGenericComponentType();
-            if (genericComponentType instanceof ParameterizedType) {
-                //hack to get classType of Array from generic type. There's no way how to do that
-                //so we create here new array based on generic type and use that instance to get class type.
-                //this is far from ideal, thus one should avoid using this method if possible for finding out
-                //class type of array from generic type.
-                logger.warn("Used inefficient query to get array class type.");
-                return Array.newInstance((Class) ((ParameterizedType) genericArrayType.getGenericComponentType()).getRawType(),
-                        0).getClass();
-            } else {
-                throw new UnsupportedOperationException("Not implemented yet");
-            }
+            return getArrayClassType((GenericArrayType) genericType);
         } else if (genericType instanceof WildcardType) {
-            //solves only ? extends ...
-            WildcardType wildcardType = (WildcardType) genericType;
-            Type[] upperBounds = wildcardType.getUpperBounds();
-            return (Class) upperBounds[0];  //TODO MM: recursion?
+            return getClassType(TypeResolver.toBound(genericType));
+        } else if (genericType instanceof TypeVariable) {
+            //unresolved type variable, values are generated for its bound.
+            return getClassType(((TypeVariable<?>) genericType).getBounds()[0]);
         } else {
-            throw new UnsupportedOperationException("Not implemented yet");
+            throw new UnsupportedOperationException("Unsupported type: " + genericType.getTypeName());
         }
     }
 
+    private static Class<?> getArrayClassType(GenericArrayType genericArrayType) {
+        return ARRAY_CLASSES.get(getClassType(genericArrayType.getGenericComponentType()));
+    }
+
     public static boolean isArray(Type genericType) {
         if (genericType instanceof Class) {
             return ((Class)genericType).isArray();
@@ -56,7 +57,7 @@ public class GenericTypeUtil {
             return ((Class)genericType).getComponentType();
         } else if (genericType instanceof GenericArrayType) {
             GenericArrayType genericArrayType = (GenericArrayType) genericType;
-            return genericArrayType.getGenericComponentType();
+            return TypeResolver.toBound(genericArrayType.getGenericComponentType());
         } else {
             throw new UnsupportedOperationException("Not implemented yet");
         }
@@ -70,10 +71,10 @@ public class GenericTypeUtil {
             ParameterizedType parameterizedType = (ParameterizedType) genericType;
 
             //lists have just one type parameter. //TODO MM: reuse for maps etc.
-            return parameterizedType.getActualTypeArguments()[0];
+            return TypeResolver.toBound(parameterizedType.getActualTypeArguments()[0]);
         } else if (genericType instanceof GenericArrayType) {
             GenericArrayType genericArrayType = (GenericArrayType) genericType;
-            return genericArrayType.getGenericComponentType();
+            return TypeResolver.toBound(genericArrayType.getGenericComponentType());
         } else {
             throw new RuntimeException("Unknown type of instances to be created.");
         }
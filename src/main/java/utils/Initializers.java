@@ -1,30 +1,134 @@
 package utils;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import utils.initializers.ArrayInitializer;
 import utils.initializers.BooleanInitializer;
+import utils.initializers.ByteInitializer;
+import utils.initializers.CharInitializer;
+import utils.initializers.CollectionFactories;
 import utils.initializers.CollectionOrIterableInitializer;
 import utils.initializers.DefaultConstructorInitializer;
+import utils.initializers.DoubleInitializer;
 import utils.initializers.EnumInitializer;
+import utils.initializers.FloatInitializer;
+import utils.initializers.GenerationLimits;
 import utils.initializers.Initializer;
 import utils.initializers.IntInitializer;
 import utils.initializers.JavaUtilDateInitializer;
 import utils.initializers.ListInitializer;
+import utils.initializers.LongInitializer;
 import utils.initializers.MapInitializer;
+import utils.initializers.ParallelFill;
 import utils.initializers.SetInitializer;
+import utils.initializers.ShortInitializer;
+import utils.initializers.SimpleInitializer;
 import utils.initializers.StringInitializer;
 import utils.initializers.UuidInitializer;
+import utils.metrics.GenerationListener;
+import utils.metrics.ThreadAllocation;
 import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.ModifiableTraverserNode;
 
 public class Initializers {
-    private List<Initializer> initializers = createInitializers();
+    private final List<Initializer> initializers;
+    private final CollectionFactories collectionFactories;
+    private final GenerationLimits limits;
 
-    private List<Initializer> createInitializers() {
-        List<Initializer> result = Arrays.asList(
+    /**
+     * Listener notified about each generated value, null if generation is not observed.
+     * */
+    private final GenerationListener listener;
+
+    /**
+     * Configuration of parallel generation of items of large containers.
+     * */
+    private final ParallelFill parallelFill;
+
+    /**
+     * Initializers of {@link SimpleInitializer} types, indexed by exact class they provide values for. Mapped
+     * initializer is the one, which wins among all registered initializers for that class, not necessarily the
+     * {@link SimpleInitializer} itself.
+     * */
+    private final Map<Class<?>, Initializer> initializersByExactClass;
+
+    /**
+     * Memoized results of {@link #findInitializer}, including negative ones.
+     * */
+    private final ConcurrentMap<InitializerKey, Optional<Initializer>> resolvedInitializers =
+            new ConcurrentHashMap<>();
+
+    public Initializers() {
+        this(createDefaultInitializers());
+    }
+
+    public Initializers(List<Initializer> initializers) {
+        this(initializers, CollectionFactories.createDefault());
+    }
+
+    /**
+     * @param initializers initializers to use, in registration order. First initializer, which can provide value for
+     *                     given type, is used.
+     * @param collectionFactories factories of collections and maps created by initializers.
+     * */
+    public Initializers(List<Initializer> initializers, CollectionFactories collectionFactories) {
+        this(initializers, collectionFactories, GenerationLimits.defaults());
+    }
+
+    /**
+     * @param initializers initializers to use, in registration order. First initializer, which can provide value for
+     *                     given type, is used.
+     * @param collectionFactories factories of collections and maps created by initializers.
+     * @param limits limits of generated graphs.
+     * */
+    public Initializers(List<Initializer> initializers,
+                        CollectionFactories collectionFactories,
+                        GenerationLimits limits) {
+        this(initializers, collectionFactories, limits, null, ParallelFill.disabled());
+    }
+
+    /**
+     * Initializers are shared by all threads generating values, including workers filling containers in parallel, so
+     * their whole configuration is given here and never changes.
+     *
+     * @param initializers initializers to use, in registration order. First initializer, which can provide value for
+     *                     given type, is used.
+     * @param collectionFactories factories of collections and maps created by initializers.
+     * @param limits limits of generated graphs.
+     * @param listener listener notified about each generated value and traversed instance, null if generation is not
+     *                 to be observed.
+     * @param parallelFill configuration of parallel generation of items of large containers, see {@link ParallelFill}.
+     * */
+    public Initializers(List<Initializer> initializers,
+                        CollectionFactories collectionFactories,
+                        GenerationLimits limits,
+                        GenerationListener listener,
+                        ParallelFill parallelFill) {
+        this.collectionFactories = collectionFactories;
+        this.limits = limits;
+        this.listener = listener;
+        this.parallelFill = Objects.requireNonNull(parallelFill);
+        this.initializers = Collections.unmodifiableList(new ArrayList<>(initializers));
+        this.initializers.forEach(e->e.setInitializers(this));
+        this.initializersByExactClass = createExactClassIndex();
+    }
+
+    /**
+     * @return new, modifiable list of default initializers, in registration order. Customized initializers can be
+     * inserted before default ones to take over their types.
+     * */
+    public static List<Initializer> createDefaultInitializers() {
+        return new ArrayList<>(Arrays.asList(
                 new ListInitializer(),
                 new SetInitializer(),
                 new ArrayInitializer(),
@@ -35,32 +139,75 @@ public class Initializers {
                 new JavaUtilDateInitializer(),
                 new UuidInitializer(),
                 new IntInitializer(),
+                new LongInitializer(),
+                new ShortInitializer(),
+                new ByteInitializer(),
+                new CharInitializer(),
+                new FloatInitializer(),
+                new DoubleInitializer(),
                 new StringInitializer(),
                 new EnumInitializer(),
 
-                new DefaultConstructorInitializer());
+                new DefaultConstructorInitializer()));
+    }
+
+    public CollectionFactories getCollectionFactories() {
+        return collectionFactories;
+    }
+
+    public GenerationLimits getLimits() {
+        return limits;
+    }
+
+    public GenerationListener getListener() {
+        return listener;
+    }
+
+    public ParallelFill getParallelFill() {
+        return parallelFill;
+    }
 
-        result.forEach(e->e.setInitializers(this));
+    private Map<Class<?>, Initializer> createExactClassIndex() {
+        Map<Class<?>, Initializer> result = new HashMap<>();
+        for (Initializer initializer : initializers) {
+            Initializer unwrapped = initializer.unwrap();
+            if (unwrapped instanceof SimpleInitializer) {
+                for (Class<?> supportedClass : ((SimpleInitializer) unwrapped).getSupportedClasses()) {
+                    //registration order decides, so initializer registered sooner can take over given class.
+                    findInitializer(new InitializerKey(supportedClass, supportedClass))
+                            .ifPresent(winner -> result.putIfAbsent(supportedClass, winner));
+                }
+            }
+        }
         return result;
     }
 
     public Initializer getSoleInitializer(Class<?> type, Type genericType) {
-        List<Initializer> suitableInitializers = initializers.stream()
-                .filter(e -> e.canProvideValueFor(type, genericType))
-                .collect(Collectors.toList());
+        if (type == genericType) {
+            Initializer initializer = initializersByExactClass.get(type);
+            if (initializer != null) {
+                return initializer;
+            }
+        }
 
+        Optional<Initializer> initializer =
+                resolvedInitializers.computeIfAbsent(new InitializerKey(type, genericType), this::findInitializer);
 
         //TODO MM: allow to configure.
-        if (suitableInitializers.isEmpty()) {
+        if (!initializer.isPresent()) {
             throw new IllegalStateException("Unknown initializer for type: " + genericType.getTypeName());
         }
 
-//            if (suitableInitializers.size() > 1) {
-//                throw new IllegalStateException("Multiple initializers for type: " + genericType.getTypeName());
-//            }
+        return initializer.get();
+    }
 
-        Initializer initializer = suitableInitializers.get(0);
-        return initializer;
+    /**
+     * Finds first initializer, in registration order, which can provide value for given key.
+     * */
+    private Optional<Initializer> findInitializer(InitializerKey key) {
+        return initializers.stream()
+                .filter(e -> e.canProvideValueFor(key.type, key.genericType))
+                .findFirst();
     }
 
     public Object generateValue(Type genericType, ClassTreeTraverserContext context) {
@@ -71,8 +218,143 @@ public class Initializers {
     public Object generateValue(Class<?> type,
                                 Type genericType,
                                 ClassTreeTraverserContext context) {
+        return generateValue(getSoleInitializer(type, genericType), type, genericType, context);
+    }
+
+    /**
+     * Generates value using given, already resolved initializer, notifying registered listener.
+     * */
+    public Object generateValue(Initializer initializer,
+                                Class<?> type,
+                                Type genericType,
+                                ClassTreeTraverserContext context) {
+        GenerationListener listener = this.listener;
+        if (listener == null) {
+            return initializer.getValue(type, genericType, context);
+        }
+
+        boolean allocationMeasured = listener.isAllocationMeasured();
+        long startBytes = allocationMeasured ? ThreadAllocation.currentThreadAllocatedBytes() : 0;
+        long startNanos = System.nanoTime();
+
+        Object result = initializer.getValue(type, genericType, context);
+
+        long nanos = System.nanoTime() - startNanos;
+        long allocatedBytes = allocationMeasured ? ThreadAllocation.currentThreadAllocatedBytes() - startBytes : 0;
+        listener.valueGenerated(type, initializer, context, nanos, allocatedBytes);
+        return result;
+    }
+
+    /**
+     * Refills given value in place if possible, see {@link Initializer#refillValue}. Generates new value, if given value
+     * is null.
+     * */
+    public Object refillValue(Object existingValue,
+                              Class<?> type,
+                              Type genericType,
+                              ClassTreeTraverserContext context) {
         Initializer initializer = getSoleInitializer(type, genericType);
 
-        return initializer.getValue(type, genericType, context);
+        if (existingValue == null) {
+            return generateValue(initializer, type, genericType, context);
+        }
+
+        return initializer.refillValue(existingValue, type, genericType, context);
+    }
+
+    /**
+     * Generates value of primitive type and sets it to given node using primitive-specialized methods, so that value is
+     * not boxed.
+     * */
+    public void generatePrimitiveValue(Class<?> primitiveType,
+                                       ModifiableTraverserNode node,
+                                       ClassTreeTraverserContext context) {
+        Initializer initializer = getSoleInitializer(primitiveType, primitiveType);
+
+        if (listener == null) {
+            setPrimitiveValue(primitiveType, initializer, node, context);
+        } else {
+            measurePrimitiveValue(primitiveType, initializer, context,
+                    () -> setPrimitiveValue(primitiveType, initializer, node, context));
+        }
+    }
+
+    /**
+     * Runs given generation of primitive value using given initializer, and notifies registered listener about it, as
+     * {@link #generateValue(Initializer, Class, Type, ClassTreeTraverserContext)} does for other values. Meant for code
+     * generating primitives without boxing: it calls initializer directly while there is no listener, and goes through
+     * this method otherwise. Measured time includes storing generated value.
+     * */
+    public void measurePrimitiveValue(Class<?> primitiveType,
+                                      Initializer initializer,
+                                      ClassTreeTraverserContext context,
+                                      Runnable generation) {
+        GenerationListener listener = this.listener;
+        if (listener == null) {
+            generation.run();
+            return;
+        }
+
+        boolean allocationMeasured = listener.isAllocationMeasured();
+        long startBytes = allocationMeasured ? ThreadAllocation.currentThreadAllocatedBytes() : 0;
+        long startNanos = System.nanoTime();
+
+        generation.run();
+
+        long nanos = System.nanoTime() - startNanos;
+        long allocatedBytes = allocationMeasured ? ThreadAllocation.currentThreadAllocatedBytes() - startBytes : 0;
+        listener.valueGenerated(primitiveType, initializer, context, nanos, allocatedBytes);
+    }
+
+    private static void setPrimitiveValue(Class<?> primitiveType,
+                                          Initializer initializer,
+                                          ModifiableTraverserNode node,
+                                          ClassTreeTraverserContext context) {
+        if (primitiveType == Integer.TYPE) {
+            node.setInt(initializer.getInt(context));
+        } else if (primitiveType == Long.TYPE) {
+            node.setLong(initializer.getLong(context));
+        } else if (primitiveType == Boolean.TYPE) {
+            node.setBoolean(initializer.getBoolean(context));
+        } else if (primitiveType == Double.TYPE) {
+            node.setDouble(initializer.getDouble(context));
+        } else if (primitiveType == Float.TYPE) {
+            node.setFloat(initializer.getFloat(context));
+        } else if (primitiveType == Short.TYPE) {
+            node.setShort(initializer.getShort(context));
+        } else if (primitiveType == Byte.TYPE) {
+            node.setByte(initializer.getByte(context));
+        } else if (primitiveType == Character.TYPE) {
+            node.setChar(initializer.getChar(context));
+        } else {
+            throw new IllegalArgumentException("Not a primitive type: " + primitiveType);
+        }
+    }
+
+    private static final class InitializerKey {
+        private final Class<?> type;
+        private final Type genericType;
+
+        private InitializerKey(Class<?> type, Type genericType) {
+            this.type = type;
+            this.genericType = genericType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof InitializerKey)) {
+                return false;
+            }
+            InitializerKey that = (InitializerKey) o;
+            return type.equals(that.type) && genericType.equals(that.genericType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + genericType.hashCode();
+        }
     }
 }
@@ -0,0 +1,219 @@
+package utils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves generic types as seen from given concrete class. Type variables declared by superclasses are replaced by
+ * type arguments given by subclasses, so ie. field {@code T value} of {@code Base<T>} resolves to {@code Bar}, when
+ * seen from {@code class Foo extends Base<Bar>}. Wildcards nested in type arguments are replaced by their bounds, as
+ * values are generated for bound types anyway; {@code List<? extends Number>} resolves to {@code List<Number>}.
+ *
+ * Resolvers are created once per class and cached using {@link ClassValue}, resolved types are memoized per resolver.
+ * Type variables, which cannot be resolved, ie. those declared by given class itself, are kept as they are.
+ * */
+public final class TypeResolver {
+    private static final ClassValue<TypeResolver> RESOLVERS = new ClassValue<TypeResolver>() {
+        @Override
+        protected TypeResolver computeValue(Class<?> type) {
+            return new TypeResolver(type);
+        }
+    };
+
+    private final Map<TypeVariable<?>, Type> bindings;
+    private final ConcurrentMap<Type, Type> resolvedTypes = new ConcurrentHashMap<>();
+
+    private TypeResolver(Class<?> owner) {
+        this.bindings = createBindings(owner);
+    }
+
+    public static TypeResolver of(Class<?> owner) {
+        return RESOLVERS.get(owner);
+    }
+
+    /**
+     * @return given type resolved against given class, see {@link TypeResolver}.
+     * */
+    public static Type resolve(Class<?> owner, Type type) {
+        return of(owner).resolve(type);
+    }
+
+    public Type resolve(Type type) {
+        if (type instanceof Class) {
+            return type;
+        }
+
+        Type result = resolvedTypes.get(type);
+        if (result == null) {
+            result = resolve(bindings, type);
+            Type previous = resolvedTypes.putIfAbsent(type, result);
+            if (previous != null) {
+                result = previous;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Walks superclasses of given class and binds type variables of each superclass to type arguments given by its
+     * subclass, resolved against bindings collected so far.
+     * */
+    private static Map<TypeVariable<?>, Type> createBindings(Class<?> owner) {
+        Map<TypeVariable<?>, Type> result = new HashMap<>();
+        for (Class<?> current = owner; current != null && current != Object.class; current = current.getSuperclass()) {
+            Type genericSuperclass = current.getGenericSuperclass();
+            if (genericSuperclass instanceof ParameterizedType) {
+                ParameterizedType parameterizedSuperclass = (ParameterizedType) genericSuperclass;
+                TypeVariable<?>[] typeParameters = current.getSuperclass().getTypeParameters();
+                Type[] typeArguments = parameterizedSuperclass.getActualTypeArguments();
+                for (int i = 0; i < typeParameters.length; i++) {
+                    result.put(typeParameters[i], resolve(result, typeArguments[i]));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Type resolve(Map<TypeVariable<?>, Type> bindings, Type type) {
+        if (type instanceof Class) {
+            return type;
+        } else if (type instanceof TypeVariable) {
+            return bindings.getOrDefault(type, type);
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] typeArguments = parameterizedType.getActualTypeArguments();
+            Type[] resolvedArguments = new Type[typeArguments.length];
+            boolean changed = false;
+            for (int i = 0; i < typeArguments.length; i++) {
+                resolvedArguments[i] = resolve(bindings, toBound(typeArguments[i]));
+                changed |= resolvedArguments[i] != typeArguments[i];
+            }
+
+            Type ownerType = parameterizedType.getOwnerType();
+            Type resolvedOwnerType = ownerType == null ? null : resolve(bindings, ownerType);
+            changed |= resolvedOwnerType != ownerType;
+
+            if (!changed) {
+                return type;
+            }
+            Class<?> rawType = (Class<?>) parameterizedType.getRawType();
+            return new ResolvedParameterizedType(rawType, resolvedArguments, resolvedOwnerType);
+        } else if (type instanceof GenericArrayType) {
+            Type componentType = ((GenericArrayType) type).getGenericComponentType();
+            Type resolvedComponentType = resolve(bindings, componentType);
+            if (resolvedComponentType instanceof Class) {
+                return Array.newInstance((Class<?>) resolvedComponentType, 0).getClass();
+            }
+            return resolvedComponentType == componentType ? type : new ResolvedGenericArrayType(resolvedComponentType);
+        } else if (type instanceof WildcardType) {
+            return resolve(bindings, toBound(type));
+        } else {
+            return type;
+        }
+    }
+
+    /**
+     * @return type, which values can be used for given wildcard: lower bound if there's one, upper bound otherwise.
+     * Other types are returned as they are.
+     * */
+    public static Type toBound(Type type) {
+        while (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            type = lowerBounds.length > 0 ? lowerBounds[0] : wildcardType.getUpperBounds()[0];
+        }
+        return type;
+    }
+
+    private static final class ResolvedParameterizedType implements ParameterizedType {
+        private final Class<?> rawType;
+        private final Type[] typeArguments;
+        private final Type ownerType;
+
+        private ResolvedParameterizedType(Class<?> rawType, Type[] typeArguments, Type ownerType) {
+            this.rawType = rawType;
+            this.typeArguments = typeArguments;
+            this.ownerType = ownerType;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return typeArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return rawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return ownerType;
+        }
+
+        //equals and hashCode are compatible with JDK implementation, so that equal types are interchangeable as keys.
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ParameterizedType)) {
+                return false;
+            }
+            ParameterizedType that = (ParameterizedType) o;
+            return rawType.equals(that.getRawType())
+                    && Objects.equals(ownerType, that.getOwnerType())
+                    && Arrays.equals(typeArguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(typeArguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(rawType.getTypeName()).append('<');
+            for (int i = 0; i < typeArguments.length; i++) {
+                sb.append(i == 0 ? "" : ", ").append(typeArguments[i].getTypeName());
+            }
+            return sb.append('>').toString();
+        }
+    }
+
+    private static final class ResolvedGenericArrayType implements GenericArrayType {
+        private final Type componentType;
+
+        private ResolvedGenericArrayType(Type componentType) {
+            this.componentType = componentType;
+        }
+
+        @Override
+        public Type getGenericComponentType() {
+            return componentType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof GenericArrayType
+                    && componentType.equals(((GenericArrayType) o).getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return componentType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return componentType.getTypeName() + "[]";
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package utils.generator;
+
+import java.lang.reflect.Constructor;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator generating records of given index range lazily, one at a time. Splitting divides the index range, so
+ * each record is the same regardless of how the stream was split.
+ * */
+class GeneratingSpliterator<T> implements Spliterator<T> {
+    private final Generator generator;
+    private final Constructor<T> constructor;
+    private long from;
+    private final long to;
+
+    GeneratingSpliterator(Generator generator, Constructor<T> constructor, long from, long to) {
+        this.generator = generator;
+        this.constructor = constructor;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (from >= to) {
+            return false;
+        }
+
+        action.accept(generator.generate(constructor, from++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long end = to;
+        for (long i = from; i < end; i++) {
+            action.accept(generator.generate(constructor, i));
+        }
+        from = end;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long middle = (from + to) >>> 1;
+        if (middle <= from) {
+            return null;
+        }
+
+        Spliterator<T> prefix = new GeneratingSpliterator<>(generator, constructor, from, middle);
+        from = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+}
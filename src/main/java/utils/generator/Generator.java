@@ -0,0 +1,180 @@
+package utils.generator;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import utils.random.RandomSource;
+import utils.traverser.ClassTreeTraverser;
+import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.FieldTraverser;
+import utils.traverser.InitializingTraversingProcessor;
+import utils.traverser.TraversalState;
+
+/**
+ * Generates initialized instances of given class in bulk.
+ *
+ * Each generated record has its index, and is generated using its own random stream derived from master seed and
+ * that index. Thus record with given index is always the same for given seed, no matter which thread generated it, or
+ * how many threads were used.
+ *
+ * Dataset can be generated by multiple processes or nodes, each generating its own shard, see
+ * {@link #streamShard}. Values, which must be unique (ie. UUIDs), are derived from seed, record index and position
+ * of value within record, so they do not collide across records, and thus across shards either.
+ *
+ * Traverser, and thus initializers and type plans, are shared among all workers, and have to be thread safe; all
+ * mutable generation state lives in per-record {@link ClassTreeTraverserContext}.
+ * */
+public class Generator {
+    private final ClassTreeTraverser traverser;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    public Generator(long seed) {
+        this(new FieldTraverser(new InitializingTraversingProcessor()), seed, ForkJoinPool.commonPool());
+    }
+
+    public Generator(ClassTreeTraverser traverser, long seed, ForkJoinPool pool) {
+        this.traverser = traverser;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * @return record with given index.
+     * */
+    public <T> T generateRecord(Class<T> type, long index) {
+        return generate(getPublicNoArgConstructor(type), index);
+    }
+
+    /**
+     * Generates records 0..count-1 in parallel, using configured pool.
+     * */
+    public <T> List<T> generate(Class<T> type, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+
+        Constructor<T> constructor = getPublicNoArgConstructor(type);
+        Object[] result = new Object[count];
+        int threshold = Math.max(1, count / (pool.getParallelism() * 4));
+        pool.invoke(new GeneratingTask(constructor, result, 0, count, threshold));
+
+        //noinspection unchecked
+        return (List<T>) Arrays.asList(result);
+    }
+
+    /**
+     * @return lazy stream of records 0..count-1. Records are generated only when consumed, so arbitrarily large
+     * datasets can be consumed in constant memory. Stream can be made parallel, in which case index range is split
+     * among workers, and records stay the same.
+     * */
+    public <T> Stream<T> stream(Class<T> type, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+
+        return stream(type, 0, count);
+    }
+
+    /**
+     * @return lazy stream of records from..to-1.
+     * */
+    public <T> Stream<T> stream(Class<T> type, long from, long to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid record range: " + from + ".." + to);
+        }
+
+        return StreamSupport.stream(
+                new GeneratingSpliterator<>(this, getPublicNoArgConstructor(type), from, to),
+                false);
+    }
+
+    /**
+     * Dataset of given size is divided into given number of contiguous shards, which differ in size at most by one
+     * record. Each shard can be generated independently, ie. by different node, and records are the same as if whole
+     * dataset was generated at once.
+     *
+     * @return lazy stream of records of given shard.
+     * */
+    public <T> Stream<T> streamShard(Class<T> type, long count, int shardIndex, int shardCount) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+        if (shardCount <= 0 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount);
+        }
+
+        return stream(type, shardStart(count, shardIndex, shardCount), shardStart(count, shardIndex + 1, shardCount));
+    }
+
+    /**
+     * @return index of first record of given shard; first records of dataset go to first shards.
+     * */
+    static long shardStart(long count, int shardIndex, int shardCount) {
+        long shardSize = count / shardCount;
+        long remainder = count % shardCount;
+        return shardIndex * shardSize + Math.min(shardIndex, remainder);
+    }
+
+    /**
+     * @return practically infinite lazy stream of records, starting with record 0.
+     * */
+    public <T> Stream<T> stream(Class<T> type) {
+        return stream(type, Long.MAX_VALUE);
+    }
+
+    <T> T generate(Constructor<T> constructor, long index) {
+        try {
+            T instance = constructor.newInstance();
+            RandomSource randomSource = RandomSource.seeded(seed, index);
+            TraversalState traversalState = new TraversalState(seed, index);
+            return traverser.process(instance, new ClassTreeTraverserContext(traverser, randomSource, traversalState));
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static <T> Constructor<T> getPublicNoArgConstructor(Class<T> type) {
+        try {
+            return type.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Missing public no-arg constructor: " + type, e);
+        }
+    }
+
+    private class GeneratingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Constructor<?> constructor;
+        private final Object[] result;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        private GeneratingTask(Constructor<?> constructor, Object[] result, int from, int to, int threshold) {
+            this.constructor = constructor;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    result[i] = generate(constructor, i);
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new GeneratingTask(constructor, result, from, middle, threshold),
+                        new GeneratingTask(constructor, result, middle, to, threshold));
+            }
+        }
+    }
+}
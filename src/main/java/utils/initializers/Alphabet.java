@@ -0,0 +1,83 @@
+package utils.initializers;
+
+/**
+ * Set of characters strings are generated from. Alphabets containing only Latin-1 characters are generated through
+ * byte buffer, which is then copied into compact string without any conversion.
+ * */
+public final class Alphabet {
+    /**
+     * Printable ASCII characters, including space.
+     * */
+    public static final Alphabet ASCII = range(' ', '~');
+
+    /**
+     * ASCII letters and digits.
+     * */
+    public static final Alphabet ALPHANUMERIC =
+            of("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789");
+
+    /**
+     * Printable Latin-1 characters: printable ASCII and 0xA0..0xFF.
+     * */
+    public static final Alphabet LATIN_1 = of(new String(ASCII.chars) + new String(range('\u00A0', '\u00FF').chars));
+
+    private final char[] chars;
+    private final byte[] bytes;
+
+    private Alphabet(char[] chars) {
+        if (chars.length == 0 || chars.length > 1 << 16) {
+            throw new IllegalArgumentException("Alphabet has to have 1 to 65536 characters, has: " + chars.length);
+        }
+
+        this.chars = chars;
+        this.bytes = toLatin1(chars);
+    }
+
+    /**
+     * @return alphabet consisting of given characters. Characters occurring more times are more likely to be used.
+     * */
+    public static Alphabet of(String chars) {
+        return new Alphabet(chars.toCharArray());
+    }
+
+    /**
+     * @return alphabet consisting of characters from given range, inclusive.
+     * */
+    public static Alphabet range(char from, char to) {
+        char[] chars = new char[to - from + 1];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (from + i);
+        }
+        return new Alphabet(chars);
+    }
+
+    private static byte[] toLatin1(char[] chars) {
+        byte[] result = new byte[chars.length];
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] > 0xFF) {
+                return null;
+            }
+            result[i] = (byte) chars[i];
+        }
+        return result;
+    }
+
+    public int size() {
+        return chars.length;
+    }
+
+    /**
+     * @return true if all characters of alphabet are Latin-1 ones.
+     * */
+    public boolean isLatin1() {
+        return bytes != null;
+    }
+
+    char charAt(int index) {
+        return chars[index];
+    }
+
+    byte byteAt(int index) {
+        return bytes[index];
+    }
+}
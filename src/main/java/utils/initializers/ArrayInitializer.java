@@ -2,26 +2,218 @@ package utils.initializers;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Type;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 import utils.GenericTypeUtil;
+import utils.Initializers;
+import utils.random.RandomSource;
+import utils.traverser.ClassTreeTraverserContext;
 
+/**
+ * Creates arrays. Arrays of primitives are filled directly, without boxing and without creating temporary list of
+ * items, so even large arrays (ie. megabytes of byte[] payload) are cheap to create.
+ *
+ * Items of primitive arrays are taken from random source in bulk only if their type is handled by default initializer.
+ * Items of type, for which another initializer is registered, are generated by that initializer one by one, using its
+ * primitive-specialized methods.
+ * */
 public class ArrayInitializer extends ArrayLikeInitializerParent {
 
+    /**
+     * Default initializers of primitive types, whose values bulk filling generates the same way.
+     * */
+    private static final Map<Class<?>, Class<?>> DEFAULT_INITIALIZER_CLASSES = new HashMap<>();
+
+    static {
+        DEFAULT_INITIALIZER_CLASSES.put(Boolean.TYPE, BooleanInitializer.class);
+        DEFAULT_INITIALIZER_CLASSES.put(Byte.TYPE, ByteInitializer.class);
+        DEFAULT_INITIALIZER_CLASSES.put(Character.TYPE, CharInitializer.class);
+        DEFAULT_INITIALIZER_CLASSES.put(Short.TYPE, ShortInitializer.class);
+        DEFAULT_INITIALIZER_CLASSES.put(Integer.TYPE, IntInitializer.class);
+        DEFAULT_INITIALIZER_CLASSES.put(Long.TYPE, LongInitializer.class);
+        DEFAULT_INITIALIZER_CLASSES.put(Float.TYPE, FloatInitializer.class);
+        DEFAULT_INITIALIZER_CLASSES.put(Double.TYPE, DoubleInitializer.class);
+    }
+
+    public ArrayInitializer() {
+    }
+
+    /**
+     * @param minItems minimal length of created arrays, inclusive.
+     * @param maxItems maximal length of created arrays, inclusive.
+     * */
+    public ArrayInitializer(int minItems, int maxItems) {
+        super(minItems, maxItems);
+    }
+
     @Override
     public boolean canProvideValueFor(Class<?> type, Type genericType) {
         return type.isArray();
     }
 
     @Override
-    protected Object instantiateCollection(Class<?> classType, Type typeOfElements, List items) {
-        Class<?> componentType = GenericTypeUtil.getClassType(typeOfElements);
+    public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
+        Class<?> componentType = type.getComponentType();
+        if (componentType.isPrimitive()) {
+            if (!tryCreateObject(context)) {
+                return null;
+            }
+            Object array = Array.newInstance(componentType, createItemCount(context));
+            return fillPrimitiveArray(array, componentType, context);
+        }
+
+        return super.getValue(type, genericType, context);
+    }
+
+    /**
+     * Arrays, which length is within configured range, are refilled in place.
+     * */
+    @Override
+    protected Object refillContainer(Object container,
+                                     Class<?> classOfElements,
+                                     Type typeOfElements,
+                                     ClassTreeTraverserContext context) {
+        int length = Array.getLength(container);
+        if (!isItemCountInRange(length)) {
+            return null;
+        }
+
+        Class<?> componentType = container.getClass().getComponentType();
+        if (componentType.isPrimitive()) {
+            return fillPrimitiveArray(container, componentType, context);
+        }
+
+        Object[] array = (Object[]) container;
+        for (int i = 0; i < length; i++) {
+            array[i] = getInitializers().refillValue(array[i], classOfElements, typeOfElements, context);
+        }
+        return array;
+    }
+
+    private Object fillPrimitiveArray(Object array, Class<?> componentType, ClassTreeTraverserContext context) {
+        Initializers initializers = getInitializers();
+        Initializer initializer = initializers.getSoleInitializer(componentType, componentType);
+        if (initializer.unwrap().getClass() == DEFAULT_INITIALIZER_CLASSES.get(componentType)) {
+            return fillPrimitiveArray(array, componentType, random(context));
+        }
+
+        int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            int index = i;
+            if (initializers.getListener() == null) {
+                setPrimitiveItem(array, index, componentType, initializer, context);
+            } else {
+                initializers.measurePrimitiveValue(componentType, initializer, context,
+                        () -> setPrimitiveItem(array, index, componentType, initializer, context));
+            }
+        }
+        return array;
+    }
+
+    private static void setPrimitiveItem(Object array,
+                                         int index,
+                                         Class<?> componentType,
+                                         Initializer initializer,
+                                         ClassTreeTraverserContext context) {
+        if (componentType == Integer.TYPE) {
+            ((int[]) array)[index] = initializer.getInt(context);
+        } else if (componentType == Long.TYPE) {
+            ((long[]) array)[index] = initializer.getLong(context);
+        } else if (componentType == Boolean.TYPE) {
+            ((boolean[]) array)[index] = initializer.getBoolean(context);
+        } else if (componentType == Double.TYPE) {
+            ((double[]) array)[index] = initializer.getDouble(context);
+        } else if (componentType == Float.TYPE) {
+            ((float[]) array)[index] = initializer.getFloat(context);
+        } else if (componentType == Short.TYPE) {
+            ((short[]) array)[index] = initializer.getShort(context);
+        } else if (componentType == Byte.TYPE) {
+            ((byte[]) array)[index] = initializer.getByte(context);
+        } else if (componentType == Character.TYPE) {
+            ((char[]) array)[index] = initializer.getChar(context);
+        } else {
+            throw new IllegalStateException("Unknown primitive type: " + componentType);
+        }
+    }
 
-        Object newArray = Array.newInstance(componentType, items.size());
-        for(int i = 0; i < items.size(); i++) {
-            Array.set(newArray, i, items.get(i));
+    /**
+     * Fills array with values generated the same way as by default initializers.
+     * */
+    private static Object fillPrimitiveArray(Object array, Class<?> componentType, RandomSource random) {
+        if (componentType == Byte.TYPE) {
+            byte[] result = (byte[]) array;
+            random.nextBytes(result);
+            return result;
+        } else if (componentType == Boolean.TYPE) {
+            boolean[] result = (boolean[]) array;
+            int length = result.length;
+            //single random long provides 64 booleans.
+            for (int i = 0; i < length; i += Long.SIZE) {
+                long bits = random.nextLong();
+                for (int j = i, end = Math.min(length, i + Long.SIZE); j < end; j++, bits >>>= 1) {
+                    result[j] = (bits & 1) != 0;
+                }
+            }
+            return result;
+        } else if (componentType == Integer.TYPE) {
+            int[] result = (int[]) array;
+            int length = result.length;
+            for (int i = 0; i < length; i++) {
+                result[i] = random.nextInt();
+            }
+            return result;
+        } else if (componentType == Long.TYPE) {
+            long[] result = (long[]) array;
+            int length = result.length;
+            for (int i = 0; i < length; i++) {
+                result[i] = random.nextLong();
+            }
+            return result;
+        } else if (componentType == Short.TYPE) {
+            short[] result = (short[]) array;
+            int length = result.length;
+            for (int i = 0; i < length; i++) {
+                result[i] = (short) random.nextInt();
+            }
+            return result;
+        } else if (componentType == Character.TYPE) {
+            char[] result = (char[]) array;
+            int length = result.length;
+            for (int i = 0; i < length; i++) {
+                result[i] = (char) random.nextInt();
+            }
+            return result;
+        } else if (componentType == Float.TYPE) {
+            float[] result = (float[]) array;
+            int length = result.length;
+            for (int i = 0; i < length; i++) {
+                result[i] = (float) random.nextDouble();
+            }
+            return result;
+        } else if (componentType == Double.TYPE) {
+            double[] result = (double[]) array;
+            int length = result.length;
+            for (int i = 0; i < length; i++) {
+                result[i] = random.nextDouble();
+            }
+            return result;
+        } else {
+            throw new IllegalStateException("Unknown primitive type: " + componentType);
         }
-        return newArray;
+    }
+
+    @Override
+    protected CollectionFactory<?> getCollectionFactory(Class<?> type,
+                                                        Class<?> classOfElements,
+                                                        ClassTreeTraverserContext context) {
+        return size -> Array.newInstance(classOfElements, size);
+    }
+
+    @Override
+    protected void addItem(Object container, int index, Object item) {
+        //arrays of primitives are created elsewhere, so this is always an array of objects.
+        ((Object[]) container)[index] = item;
     }
 
     @Override
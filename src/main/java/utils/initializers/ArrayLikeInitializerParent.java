@@ -1,48 +1,156 @@
 package utils.initializers;
 
 import java.lang.reflect.Type;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.ListIterator;
 
 import utils.GenericTypeUtil;
 import utils.traverser.ClassTreeTraverserContext;
 
+/**
+ * Parent of initializers of arrays and collections. Items are generated directly into container created by
+ * {@link CollectionFactory}, presized for number of items to be created. Items of large containers can be generated in
+ * parallel, see {@link ParallelFill}.
+ * */
 public abstract class ArrayLikeInitializerParent extends RandomInitializer {
 
     protected static final int MAX_ITEMS_TO_CREATE_IN_COLLECTIONS = 5;
 
-    private List createItemsForCollection(Type typeOfListElements, ClassTreeTraverserContext context) {
-        //TODO MM: allow specification number of items. Globally 0/1..N, locally. Allow null for whole container? Allow null internal values?
-        int itemCount = 1 + random.nextInt(MAX_ITEMS_TO_CREATE_IN_COLLECTIONS);
+    private final int minItems;
+    private final int maxItems;
 
-        List result = new ArrayList(itemCount);
-        for (int i = 0; i < itemCount; i++) {
-            try {
-                Class<?> type = GenericTypeUtil.getClassType(typeOfListElements);
-                Object newInstance = this.getInitializers().generateValue(type, typeOfListElements, context);
+    protected ArrayLikeInitializerParent() {
+        this(1, MAX_ITEMS_TO_CREATE_IN_COLLECTIONS);
+    }
 
-                //noinspection unchecked
-                result.add(newInstance);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+    /**
+     * @param minItems minimal number of created items, inclusive.
+     * @param maxItems maximal number of created items, inclusive.
+     * */
+    protected ArrayLikeInitializerParent(int minItems, int maxItems) {
+        if (minItems < 0 || maxItems < minItems) {
+            throw new IllegalArgumentException("Invalid item count range: " + minItems + ".." + maxItems);
         }
 
-        return result;
+        this.minItems = minItems;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * @return number of items to create, limited by {@link GenerationLimits#getMaxCollectionItems()}.
+     * */
+    protected int createItemCount(ClassTreeTraverserContext context) {
+        //TODO MM: allow specification number of items locally. Allow null for whole container? Allow null internal values?
+        int itemCount = minItems == maxItems ? minItems : minItems + random(context).nextInt(maxItems - minItems + 1);
+        return Math.min(itemCount, getInitializers().getLimits().getMaxCollectionItems());
     }
 
     @Override
     public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
         //TODO MM: allow to specify subclasses to be instantiated as well.
+        if (!tryCreateObject(context)) {
+            return null;
+        }
+
         Type typeOfElements = getTypeOfElements(genericType);
+        Class<?> classOfElements = GenericTypeUtil.getClassType(typeOfElements);
+
+        //noinspection unchecked
+        CollectionFactory<Object> factory = (CollectionFactory<Object>) getCollectionFactory(type, classOfElements, context);
+        int itemCount = createItemCount(context);
+        Object container = factory.create(itemCount);
+
+        ParallelFill parallelFill = getInitializers().getParallelFill();
+        if (parallelFill.isParallel(itemCount)) {
+            Object[] items = parallelFill.generate(itemCount, context, (index, itemContext) ->
+                    getInitializers().generateValue(classOfElements, typeOfElements, itemContext));
+            for (int i = 0; i < itemCount; i++) {
+                addItem(container, i, items[i]);
+            }
+        } else {
+            for (int i = 0; i < itemCount; i++) {
+                Object item = this.getInitializers().generateValue(classOfElements, typeOfElements, context);
+                addItem(container, i, item);
+            }
+        }
+
+        return factory.complete(container);
+    }
+
+    @Override
+    public Object refillValue(Object existingValue,
+                              Class<?> type,
+                              Type genericType,
+                              ClassTreeTraverserContext context) {
+        Type typeOfElements = getTypeOfElements(genericType);
+        Class<?> classOfElements = GenericTypeUtil.getClassType(typeOfElements);
+
+        Object refilled = refillContainer(existingValue, classOfElements, typeOfElements, context);
+        return refilled != null ? refilled : getValue(type, genericType, context);
+    }
+
+    /**
+     * Refills existing container in place. Lists keep their size and have their items refilled, other collections
+     * are cleared and filled with same number of new items.
+     *
+     * @return refilled container, or null if given container cannot be refilled.
+     * */
+    protected Object refillContainer(Object container,
+                                     Class<?> classOfElements,
+                                     Type typeOfElements,
+                                     ClassTreeTraverserContext context) {
+        try {
+            if (container instanceof List) {
+                //noinspection unchecked
+                List<Object> list = (List<Object>) container;
+                for (ListIterator<Object> iterator = list.listIterator(); iterator.hasNext(); ) {
+                    Object item = iterator.next();
+                    iterator.set(getInitializers().refillValue(item, classOfElements, typeOfElements, context));
+                }
+            } else {
+                //noinspection unchecked
+                Collection<Object> collection = (Collection<Object>) container;
+                int size = collection.size();
+                collection.clear();
+                for (int i = 0; i < size; i++) {
+                    collection.add(getInitializers().generateValue(classOfElements, typeOfElements, context));
+                }
+            }
+            return container;
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if given number of items could have been created by this initializer.
+     * */
+    protected boolean isItemCountInRange(int itemCount) {
+        return minItems <= itemCount && itemCount <= maxItems;
+    }
+
+    /**
+     * Adds item to container created by factory. Default implementation supports collections.
+     * */
+    protected void addItem(Object container, int index, Object item) {
+        //noinspection unchecked
+        ((Collection<Object>) container).add(item);
+    }
 
-        List listItems = createItemsForCollection(typeOfElements, context);
-        return instantiateCollection(type, typeOfElements, listItems);
+    /**
+     * @return factory registered for given type in {@link CollectionFactories}, or default factory, if type is
+     * abstract and there's no registered factory for it.
+     * */
+    protected CollectionFactory<?> getRegisteredCollectionFactory(Class<?> type, Class<?> defaultType) {
+        CollectionFactories collectionFactories = getInitializers().getCollectionFactories();
+        CollectionFactory<?> factory = collectionFactories.getFactory(type);
+        return factory != null ? factory : collectionFactories.getFactory(defaultType);
     }
 
     protected abstract Type getTypeOfElements(Type genericType);
 
-    protected abstract Object instantiateCollection(Class<?> type,
-                                                    Type typeOfElements,
-                                                    List items);
+    protected abstract CollectionFactory<?> getCollectionFactory(Class<?> type,
+                                                                 Class<?> classOfElements,
+                                                                 ClassTreeTraverserContext context);
 }
@@ -11,6 +11,11 @@ public class BooleanInitializer extends SimpleInitializer {
 
     @Override
     public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
-        return random.nextBoolean();
+        return getBoolean(context);
+    }
+
+    @Override
+    public boolean getBoolean(ClassTreeTraverserContext context) {
+        return random(context).nextBoolean();
     }
 }
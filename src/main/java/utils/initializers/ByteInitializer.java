@@ -0,0 +1,21 @@
+package utils.initializers;
+
+import java.lang.reflect.Type;
+
+import utils.traverser.ClassTreeTraverserContext;
+
+public class ByteInitializer extends SimpleInitializer {
+    public ByteInitializer() {
+        super(Byte.TYPE, Byte.class);
+    }
+
+    @Override
+    public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
+        return getByte(context);
+    }
+
+    @Override
+    public byte getByte(ClassTreeTraverserContext context) {
+        return (byte) random(context).nextInt();
+    }
+}
@@ -0,0 +1,21 @@
+package utils.initializers;
+
+import java.lang.reflect.Type;
+
+import utils.traverser.ClassTreeTraverserContext;
+
+public class CharInitializer extends SimpleInitializer {
+    public CharInitializer() {
+        super(Character.TYPE, Character.class);
+    }
+
+    @Override
+    public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
+        return getChar(context);
+    }
+
+    @Override
+    public char getChar(ClassTreeTraverserContext context) {
+        return (char) random(context).nextInt();
+    }
+}
@@ -0,0 +1,144 @@
+package utils.initializers;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of {@link CollectionFactory} instances per collection or map type. Used to decide which implementation
+ * is created for abstract types, like {@code List -> ArrayList}, and to create known implementations presized.
+ *
+ * Concrete types without registered factory are created using their public no-arg constructor.
+ *
+ * Registration is not meant to be done concurrently with initialization.
+ * */
+public class CollectionFactories {
+
+    private final Map<Class<?>, CollectionFactory<?>> factories = new HashMap<>();
+
+    private final ClassValue<CollectionFactory<?>> constructorFactories = new ClassValue<CollectionFactory<?>>() {
+        @Override
+        protected CollectionFactory<?> computeValue(Class<?> type) {
+            return createConstructorFactory(type);
+        }
+    };
+
+    /**
+     * @return registry with factories for common JDK interfaces and implementations, creating presized containers.
+     * */
+    public static CollectionFactories createDefault() {
+        return new CollectionFactories()
+                .register(List.class, ArrayList::new)
+                .register(ArrayList.class, ArrayList::new)
+                .register(LinkedList.class, size -> new LinkedList<>())
+
+                .register(Set.class, size -> new HashSet<>(hashCapacity(size)))
+                .register(HashSet.class, size -> new HashSet<>(hashCapacity(size)))
+                .register(LinkedHashSet.class, size -> new LinkedHashSet<>(hashCapacity(size)))
+                .register(SortedSet.class, size -> new TreeSet<>())
+                .register(NavigableSet.class, size -> new TreeSet<>())
+                .register(TreeSet.class, size -> new TreeSet<>())
+
+                //items can be null (ie. cycles left null), which ArrayDeque does not accept.
+                .register(Queue.class, size -> new LinkedList<>())
+                .register(Deque.class, size -> new LinkedList<>())
+                .register(ArrayDeque.class, ArrayDeque::new)
+
+                .register(Map.class, size -> new HashMap<>(hashCapacity(size)))
+                .register(HashMap.class, size -> new HashMap<>(hashCapacity(size)))
+                .register(LinkedHashMap.class, size -> new LinkedHashMap<>(hashCapacity(size)))
+                .register(SortedMap.class, size -> new TreeMap<>())
+                .register(NavigableMap.class, size -> new TreeMap<>())
+                .register(TreeMap.class, size -> new TreeMap<>())
+                .register(ConcurrentMap.class, size -> new ConcurrentHashMap<>(hashCapacity(size)))
+                .register(ConcurrentHashMap.class, size -> new ConcurrentHashMap<>(hashCapacity(size)));
+    }
+
+    /**
+     * @return factory creating unmodifiable lists, backed by exactly sized array list. Suitable for read-only
+     * workloads, ie. {@code register(List.class, CollectionFactories.unmodifiableList())}.
+     * */
+    public static CollectionFactory<List<Object>> unmodifiableList() {
+        return new CollectionFactory<List<Object>>() {
+            @Override
+            public List<Object> create(int expectedSize) {
+                return new ArrayList<>(expectedSize);
+            }
+
+            @Override
+            public Object complete(List<Object> container) {
+                return Collections.unmodifiableList(container);
+            }
+        };
+    }
+
+    /**
+     * @return initial capacity of hash based collection, which will not be rehashed while adding given number of
+     * items.
+     * */
+    public static int hashCapacity(int expectedSize) {
+        return expectedSize < 3 ? expectedSize + 1 : (int) (expectedSize / 0.75F + 1.0F);
+    }
+
+    /**
+     * Registers factory for given type, replacing previously registered one.
+     * */
+    public <C> CollectionFactories register(Class<C> type, CollectionFactory<? extends C> factory) {
+        factories.put(type, factory);
+        return this;
+    }
+
+    /**
+     * @return factory registered for given type, or factory using public no-arg constructor if type is concrete, or
+     * null if type is abstract and no factory is registered for it.
+     * */
+    public CollectionFactory<?> getFactory(Class<?> type) {
+        CollectionFactory<?> factory = factories.get(type);
+        if (factory != null) {
+            return factory;
+        }
+
+        return constructorFactories.get(type);
+    }
+
+    private static CollectionFactory<?> createConstructorFactory(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+
+        Constructor<?> constructor;
+        try {
+            constructor = type.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Missing public no-arg constructor: " + type, e);
+        }
+
+        return size -> {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+}
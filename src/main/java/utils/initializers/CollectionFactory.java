@@ -0,0 +1,22 @@
+package utils.initializers;
+
+/**
+ * Creates containers (collections, maps or arrays) to be filled by initializers.
+ *
+ * @param <C> type of container being filled.
+ * */
+@FunctionalInterface
+public interface CollectionFactory<C> {
+
+    /**
+     * @return new empty container, able to hold expectedSize items without resizing.
+     * */
+    C create(int expectedSize);
+
+    /**
+     * @return value to be used, created from filled container. Allows to ie. wrap container into unmodifiable view.
+     * */
+    default Object complete(C container) {
+        return container;
+    }
+}
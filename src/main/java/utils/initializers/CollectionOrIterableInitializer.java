@@ -1,31 +1,38 @@
 package utils.initializers;
 
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import utils.GenericTypeUtil;
+import utils.traverser.ClassTreeTraverserContext;
 
 public class CollectionOrIterableInitializer extends ArrayLikeInitializerParent {
 
+    public CollectionOrIterableInitializer() {
+    }
+
+    /**
+     * @param minItems minimal number of items generated into created collections, inclusive.
+     * @param maxItems maximal number of items generated into created collections, inclusive.
+     * */
+    public CollectionOrIterableInitializer(int minItems, int maxItems) {
+        super(minItems, maxItems);
+    }
+
     @Override
     public boolean canProvideValueFor(Class<?> type, Type genericType) {
         return Collection.class.isAssignableFrom(type) || Iterable.class.isAssignableFrom(type);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    protected Object instantiateCollection(Class<?> type, Type typeOfElements, List items) {
-
-        //collection will be either list or set.
-        boolean useList = random.nextBoolean();
-        if (useList) {
-            return new ArrayList(items);
-        } else {
-            return new HashSet<>(items);
-        }
+    protected CollectionFactory<?> getCollectionFactory(Class<?> type,
+                                                        Class<?> classOfElements,
+                                                        ClassTreeTraverserContext context) {
+        //collection will be either list or set, unless there's factory registered for it.
+        boolean useList = random(context).nextBoolean();
+        return getRegisteredCollectionFactory(type, useList ? List.class : Set.class);
     }
 
     @Override
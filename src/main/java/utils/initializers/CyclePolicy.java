@@ -0,0 +1,19 @@
+package utils.initializers;
+
+/**
+ * Decides what is set to reference, which would close cycle in generated graph, ie. when generating instance of class,
+ * which is already being generated up the path, more times than {@link GenerationLimits#getMaxRecursion()} allows.
+ * Without cycle detection such generation never ends.
+ * */
+public enum CyclePolicy {
+    /**
+     * Reference is left null.
+     * */
+    LEAVE_NULL,
+
+    /**
+     * Reference is set to nearest instance of the same class up the path, closing the cycle. Thus ie. child's
+     * {@code parent} field refers to actual parent.
+     * */
+    REUSE_INSTANCE
+}
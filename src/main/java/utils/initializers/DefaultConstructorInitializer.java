@@ -2,29 +2,67 @@ package utils.initializers;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
+import java.util.Optional;
 
 import utils.traverser.ClassTreeTraverserContext;
 
 public class DefaultConstructorInitializer extends InitializerParent {
 
+    /**
+     * Public no-arg constructors, or empty if class does not have one. Cached, so that lookup, and exception thrown when
+     * constructor is missing, happens only once per class.
+     * */
+    private static final ClassValue<Optional<Constructor<?>>> PUBLIC_NO_ARG_CONSTRUCTORS =
+            new ClassValue<Optional<Constructor<?>>>() {
+                @Override
+                protected Optional<Constructor<?>> computeValue(Class<?> type) {
+                    try {
+                        return Optional.of(type.getConstructor());
+                    } catch (Exception e) {
+                        return Optional.empty();
+                    }
+                }
+            };
+
     @Override
     public boolean canProvideValueFor(Class<?> type, Type genericType) {
-        try {
-            type.getConstructor();
-            return true;
-        } catch(Exception e) {
-            return false;
-        }
+        return PUBLIC_NO_ARG_CONSTRUCTORS.get(type).isPresent();
     }
 
     @Override
     public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
+        GenerationLimits limits = getInitializers().getLimits();
+        if (context.hasAncestorsOfType(type, limits.getMaxRecursion() + 1)) {
+            //ancestor written without being created is known only by type, there is nothing to reuse then.
+            return limits.getCyclePolicy() == CyclePolicy.REUSE_INSTANCE
+                    ? context.findAncestorInstance(type)
+                    : null;
+        }
+
+        if (!tryCreateObject(context)) {
+            return null;
+        }
+
         try {
-            Constructor<?> publicNoArgConstructor = type.getConstructor();
+            Constructor<?> publicNoArgConstructor = PUBLIC_NO_ARG_CONSTRUCTORS.get(type)
+                    .orElseThrow(() -> new IllegalStateException("Missing public no-arg constructor: " + type));
             Object instance = publicNoArgConstructor.newInstance();
             return context.processCurrentNodeInstance(instance);
         } catch(Exception e) {
             throw new RuntimeException(e);
         }
     }
+
+    @Override
+    public Object refillValue(Object existingValue,
+                              Class<?> type,
+                              Type genericType,
+                              ClassTreeTraverserContext context) {
+        //existing graph can contain cycles, instance being processed up the path must not be processed again.
+        if (context.isAncestorInstance(existingValue)) {
+            return existingValue;
+        }
+
+        return context.processCurrentNodeInstance(existingValue);
+    }
 }
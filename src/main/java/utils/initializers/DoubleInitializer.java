@@ -0,0 +1,21 @@
+package utils.initializers;
+
+import java.lang.reflect.Type;
+
+import utils.traverser.ClassTreeTraverserContext;
+
+public class DoubleInitializer extends SimpleInitializer {
+    public DoubleInitializer() {
+        super(Double.TYPE, Double.class);
+    }
+
+    @Override
+    public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
+        return getDouble(context);
+    }
+
+    @Override
+    public double getDouble(ClassTreeTraverserContext context) {
+        return random(context).nextDouble();
+    }
+}
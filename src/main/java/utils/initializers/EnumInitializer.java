@@ -13,6 +13,6 @@ public class EnumInitializer extends RandomInitializer {
     @Override
     public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
         Object[] values = type.getEnumConstants();
-        return values[random.nextInt(values.length)];
+        return values[random(context).nextInt(values.length)];
     }
 }
@@ -0,0 +1,21 @@
+package utils.initializers;
+
+import java.lang.reflect.Type;
+
+import utils.traverser.ClassTreeTraverserContext;
+
+public class FloatInitializer extends SimpleInitializer {
+    public FloatInitializer() {
+        super(Float.TYPE, Float.class);
+    }
+
+    @Override
+    public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
+        return getFloat(context);
+    }
+
+    @Override
+    public float getFloat(ClassTreeTraverserContext context) {
+        return (float) random(context).nextDouble();
+    }
+}
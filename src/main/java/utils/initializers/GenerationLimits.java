@@ -0,0 +1,104 @@
+package utils.initializers;
+
+/**
+ * Limits keeping size of generated graph bounded. Objects, arrays, collections and maps are not created beyond
+ * {@link #getMaxDepth() max depth}, or after {@link #getMaxObjects() max objects} were created within single traverse;
+ * their references are left null instead. Leaf values (numbers, strings, ...) are not limited.
+ *
+ * Instance of class, which is already being generated up the path, is treated as cycle and handled by
+ * {@link #getCyclePolicy() cycle policy}, unless {@link #getMaxRecursion() max recursion} allows such nesting. By
+ * default it does not, so recursive types, like {@code Node.child}, are generated one level deep.
+ *
+ * Instances are immutable, use {@code with*} methods to derive configured ones.
+ * */
+public final class GenerationLimits {
+    private static final GenerationLimits DEFAULT =
+            new GenerationLimits(64, 1_000_000, Integer.MAX_VALUE, 0, CyclePolicy.LEAVE_NULL);
+
+    private final int maxDepth;
+    private final long maxObjects;
+    private final int maxCollectionItems;
+    private final int maxRecursion;
+    private final CyclePolicy cyclePolicy;
+
+    private GenerationLimits(int maxDepth,
+                             long maxObjects,
+                             int maxCollectionItems,
+                             int maxRecursion,
+                             CyclePolicy cyclePolicy) {
+        if (maxDepth < 0 || maxObjects < 0 || maxCollectionItems < 0 || maxRecursion < 0) {
+            throw new IllegalArgumentException("Limits cannot be negative.");
+        }
+
+        this.maxDepth = maxDepth;
+        this.maxObjects = maxObjects;
+        this.maxCollectionItems = maxCollectionItems;
+        this.maxRecursion = maxRecursion;
+        this.cyclePolicy = cyclePolicy;
+    }
+
+    /**
+     * @return default limits: depth 64, million objects per traverse, collection sizes limited only by initializers,
+     * no recursion, cycles left null.
+     * */
+    public static GenerationLimits defaults() {
+        return DEFAULT;
+    }
+
+    public GenerationLimits withMaxDepth(int maxDepth) {
+        return new GenerationLimits(maxDepth, maxObjects, maxCollectionItems, maxRecursion, cyclePolicy);
+    }
+
+    public GenerationLimits withMaxObjects(long maxObjects) {
+        return new GenerationLimits(maxDepth, maxObjects, maxCollectionItems, maxRecursion, cyclePolicy);
+    }
+
+    public GenerationLimits withMaxCollectionItems(int maxCollectionItems) {
+        return new GenerationLimits(maxDepth, maxObjects, maxCollectionItems, maxRecursion, cyclePolicy);
+    }
+
+    public GenerationLimits withMaxRecursion(int maxRecursion) {
+        return new GenerationLimits(maxDepth, maxObjects, maxCollectionItems, maxRecursion, cyclePolicy);
+    }
+
+    public GenerationLimits withCyclePolicy(CyclePolicy cyclePolicy) {
+        return new GenerationLimits(maxDepth, maxObjects, maxCollectionItems, maxRecursion, cyclePolicy);
+    }
+
+    /**
+     * @return maximal depth, counted in fields from traverse root, at which objects and containers are created.
+     * */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @return maximal number of objects and containers created within single traverse.
+     * */
+    public long getMaxObjects() {
+        return maxObjects;
+    }
+
+    /**
+     * @return maximal number of items of single array, collection or map. Applied on top of initializer's own range.
+     * */
+    public int getMaxCollectionItems() {
+        return maxCollectionItems;
+    }
+
+    /**
+     * @return maximal number of instances of the same class, which can be generated up the path of generated instance.
+     * 0 treats any instance of class, which is already being generated, as cycle; 1 allows ie. child node to have its
+     * own child node, but not grandchild. Recursion is bounded by {@link #getMaxDepth() max depth} as well.
+     * */
+    public int getMaxRecursion() {
+        return maxRecursion;
+    }
+
+    /**
+     * @return what is set to reference, which would exceed {@link #getMaxRecursion() max recursion}.
+     * */
+    public CyclePolicy getCyclePolicy() {
+        return cyclePolicy;
+    }
+}
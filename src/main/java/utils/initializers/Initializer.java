@@ -9,6 +9,65 @@ public interface Initializer {
     boolean canProvideValueFor(Class<?> type, Type genericType);
     Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context);
 
+    /**
+     * Refills existing value in place, if possible. Used by {@link utils.traverser.InitializationPolicy#REFILL}.
+     * Default implementation creates new value, which is appropriate for leaf values.
+     *
+     * @param existingValue current, non-null value.
+     * @return refilled existing value, or new value, if existing one cannot be reused.
+     * */
+    default Object refillValue(Object existingValue,
+                               Class<?> type,
+                               Type genericType,
+                               ClassTreeTraverserContext context) {
+        return getValue(type, genericType, context);
+    }
+
+    /**
+     * @return initializer actually providing values, if this one only decorates it, ie. records its calls; this
+     * initializer otherwise. Lets {@link Initializers} and generators recognize decorated initializers, so that
+     * decorating does not turn off their optimizations.
+     * */
+    default Initializer unwrap() {
+        return this;
+    }
+
     /** sets reference to all initializers known to system, in order to be able to do composite initializations. Example: when you initializing list, which contains sets of integers. So you need to initialize list, for each item new set, and for each set several integers */
     void setInitializers(Initializers initializers);
+
+    //primitive-specialized variants of getValue, called only if initializer can provide value for given primitive type.
+    //Initializers of primitive types should override them to avoid boxing. Primitive values are leaves, thus given
+    //context might be the context of instance owning the primitive field, instead of the field itself.
+
+    default boolean getBoolean(ClassTreeTraverserContext context) {
+        return (Boolean) getValue(Boolean.TYPE, Boolean.TYPE, context);
+    }
+
+    default byte getByte(ClassTreeTraverserContext context) {
+        return (Byte) getValue(Byte.TYPE, Byte.TYPE, context);
+    }
+
+    default char getChar(ClassTreeTraverserContext context) {
+        return (Character) getValue(Character.TYPE, Character.TYPE, context);
+    }
+
+    default short getShort(ClassTreeTraverserContext context) {
+        return (Short) getValue(Short.TYPE, Short.TYPE, context);
+    }
+
+    default int getInt(ClassTreeTraverserContext context) {
+        return (Integer) getValue(Integer.TYPE, Integer.TYPE, context);
+    }
+
+    default long getLong(ClassTreeTraverserContext context) {
+        return (Long) getValue(Long.TYPE, Long.TYPE, context);
+    }
+
+    default float getFloat(ClassTreeTraverserContext context) {
+        return (Float) getValue(Float.TYPE, Float.TYPE, context);
+    }
+
+    default double getDouble(ClassTreeTraverserContext context) {
+        return (Double) getValue(Double.TYPE, Double.TYPE, context);
+    }
 }
@@ -1,6 +1,7 @@
 package utils.initializers;
 
 import utils.Initializers;
+import utils.traverser.ClassTreeTraverserContext;
 
 public abstract class InitializerParent implements Initializer {
     private Initializers initializers;
@@ -13,4 +14,15 @@ public abstract class InitializerParent implements Initializer {
     protected Initializers getInitializers() {
         return initializers;
     }
+
+    /**
+     * Checks {@link GenerationLimits} before creating object or container, and counts it if it can be created.
+     *
+     * @return false if value has to be left null, as it is too deep, or too many objects were created already.
+     * */
+    protected boolean tryCreateObject(ClassTreeTraverserContext context) {
+        GenerationLimits limits = initializers.getLimits();
+        return context.getDepth() <= limits.getMaxDepth()
+                && context.getTraversalState().tryCreateObject(limits.getMaxObjects());
+    }
 }
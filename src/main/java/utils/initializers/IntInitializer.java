@@ -11,6 +11,11 @@ public class IntInitializer extends SimpleInitializer {
 
     @Override
     public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
-        return random.nextInt();
+        return getInt(context);
+    }
+
+    @Override
+    public int getInt(ClassTreeTraverserContext context) {
+        return random(context).nextInt();
     }
 }
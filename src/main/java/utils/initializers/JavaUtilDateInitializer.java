@@ -12,7 +12,7 @@ public class JavaUtilDateInitializer extends SimpleInitializer {
 
     @Override
     public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
-        int date = random.nextInt();
+        int date = random(context).nextInt();
         date = date < 0 ? -1 * date : date;
         return new Date(date);
     }
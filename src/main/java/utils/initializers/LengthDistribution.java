@@ -0,0 +1,34 @@
+package utils.initializers;
+
+import utils.random.RandomSource;
+
+/**
+ * Distribution of lengths of generated strings.
+ * */
+@FunctionalInterface
+public interface LengthDistribution {
+
+    int nextLength(RandomSource random);
+
+    static LengthDistribution fixed(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length cannot be negative: " + length);
+        }
+        return random -> length;
+    }
+
+    /**
+     * @return uniform distribution of lengths min..max, inclusive.
+     * */
+    static LengthDistribution uniform(int min, int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid length range: " + min + ".." + max);
+        }
+        if (min == max) {
+            return fixed(min);
+        }
+
+        int bound = max - min + 1;
+        return random -> min + random.nextInt(bound);
+    }
+}
@@ -1,36 +1,34 @@
 package utils.initializers;
 
-import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.List;
 
 import utils.GenericTypeUtil;
+import utils.traverser.ClassTreeTraverserContext;
 
 public class ListInitializer extends ArrayLikeInitializerParent {
+
+    public ListInitializer() {
+    }
+
+    /**
+     * @param minItems minimal size of created lists, inclusive.
+     * @param maxItems maximal size of created lists, inclusive.
+     * */
+    public ListInitializer(int minItems, int maxItems) {
+        super(minItems, maxItems);
+    }
+
     @Override
     public boolean canProvideValueFor(Class<?> type, Type genericType) {
         return List.class.isAssignableFrom(type);
     }
 
     @Override
-    protected Object instantiateCollection(Class<?> type, Type typeOfElements, List items) {
-        int modifiers = type.getModifiers();
-        boolean interfaceOrAbstractClass = type.isInterface() || Modifier.isAbstract(modifiers);
-        if (interfaceOrAbstractClass) {
-            //TODO MM: allow to specify which lists are created.
-            //noinspection unchecked
-            return new ArrayList(items);
-        } else {
-            try {
-                List result = (List) type.newInstance();
-                //noinspection unchecked
-                result.addAll(items);
-                return result;
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        }
+    protected CollectionFactory<?> getCollectionFactory(Class<?> type,
+                                                        Class<?> classOfElements,
+                                                        ClassTreeTraverserContext context) {
+        return getRegisteredCollectionFactory(type, List.class);
     }
 
     @Override
@@ -0,0 +1,21 @@
+package utils.initializers;
+
+import java.lang.reflect.Type;
+
+import utils.traverser.ClassTreeTraverserContext;
+
+public class LongInitializer extends SimpleInitializer {
+    public LongInitializer() {
+        super(Long.TYPE, Long.class);
+    }
+
+    @Override
+    public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
+        return getLong(context);
+    }
+
+    @Override
+    public long getLong(ClassTreeTraverserContext context) {
+        return random(context).nextLong();
+    }
+}
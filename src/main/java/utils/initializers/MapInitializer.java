@@ -1,14 +1,39 @@
 package utils.initializers;
 
-import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.HashMap;
 import java.util.Map;
 
+import utils.TypeResolver;
 import utils.traverser.ClassTreeTraverserContext;
 
 public class MapInitializer extends RandomInitializer {
+    private final int minItems;
+    private final int maxItems;
+
+    /**
+     * Creates initializer generating {@value ArrayLikeInitializerParent#MAX_ITEMS_TO_CREATE_IN_COLLECTIONS} entries
+     * into each map.
+     * */
+    public MapInitializer() {
+        this(ArrayLikeInitializerParent.MAX_ITEMS_TO_CREATE_IN_COLLECTIONS,
+                ArrayLikeInitializerParent.MAX_ITEMS_TO_CREATE_IN_COLLECTIONS);
+    }
+
+    /**
+     * @param minItems minimal number of entries generated into created maps, inclusive. Maps can be smaller, if
+     * generated keys repeat.
+     * @param maxItems maximal number of entries generated into created maps, inclusive.
+     * */
+    public MapInitializer(int minItems, int maxItems) {
+        if (minItems < 0 || maxItems < minItems) {
+            throw new IllegalArgumentException("Invalid item count range: " + minItems + ".." + maxItems);
+        }
+
+        this.minItems = minItems;
+        this.maxItems = maxItems;
+    }
+
     @Override
     public boolean canProvideValueFor(Class<?> type, Type genericType) {
         return Map.class.isAssignableFrom(type);
@@ -16,46 +41,82 @@ public class MapInitializer extends RandomInitializer {
 
     @Override
     public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
-        Map resultMap = instantiateMap(type);
+        if (!tryCreateObject(context)) {
+            return null;
+        }
+
+        int itemCount = getItemCount(context);
+
+        //noinspection unchecked
+        CollectionFactory<Map<Object, Object>> factory = (CollectionFactory<Map<Object, Object>>) getMapFactory(type);
+        Map<Object, Object> resultMap = factory.create(itemCount);
+        fill(resultMap, itemCount, genericType, context);
+        return factory.complete(resultMap);
+    }
 
+    /**
+     * Keys cannot be modified in place, so map is cleared and filled with new entries.
+     * */
+    @Override
+    public Object refillValue(Object existingValue,
+                              Class<?> type,
+                              Type genericType,
+                              ClassTreeTraverserContext context) {
+        //noinspection unchecked
+        Map<Object, Object> map = (Map<Object, Object>) existingValue;
+        try {
+            map.clear();
+        } catch (UnsupportedOperationException e) {
+            return getValue(type, genericType, context);
+        }
+
+        fill(map, getItemCount(context), genericType, context);
+        return map;
+    }
+
+    /**
+     * @return number of entries to generate, limited by {@link GenerationLimits#getMaxCollectionItems()}.
+     * */
+    private int getItemCount(ClassTreeTraverserContext context) {
+        int itemCount = minItems == maxItems ? minItems : minItems + random(context).nextInt(maxItems - minItems + 1);
+        return Math.min(itemCount, getInitializers().getLimits().getMaxCollectionItems());
+    }
+
+    private void fill(Map<Object, Object> map, int itemCount, Type genericType, ClassTreeTraverserContext context) {
         Type keyType = getKeyValueType(genericType, 0);
         Type valueType = getKeyValueType(genericType, 1);
 
-        for(int i = 0; i < ArrayLikeInitializerParent.MAX_ITEMS_TO_CREATE_IN_COLLECTIONS; i++) {
+        ParallelFill parallelFill = getInitializers().getParallelFill();
+        if (parallelFill.isParallel(itemCount)) {
+            //keys are at even indexes, values at odd ones.
+            Object[] keysAndValues = parallelFill.generate(2 * itemCount, context, (index, itemContext) ->
+                    getInitializers().generateValue(index % 2 == 0 ? keyType : valueType, itemContext));
+            for (int i = 0; i < itemCount; i++) {
+                map.put(keysAndValues[2 * i], keysAndValues[2 * i + 1]);
+            }
+            return;
+        }
+
+        for(int i = 0; i < itemCount; i++) {
             Object key = getInitializers().generateValue(keyType, context);
             Object value = getInitializers().generateValue(valueType, context);
-            resultMap.put(key, value);
+            map.put(key, value);
         }
-
-        return resultMap;
     }
 
     private Type getKeyValueType(Type genericType, int index) {
         if (genericType instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType) genericType;
 
-            return parameterizedType.getActualTypeArguments()[index];
+            return TypeResolver.toBound(parameterizedType.getActualTypeArguments()[index]);
         } else {
             throw new RuntimeException("Unknown type of instances to be created.");
         }
     }
 
-    private Map instantiateMap(Class<?> type) {
-        int modifiers = type.getModifiers();
-        boolean interfaceOrAbstractClass = type.isInterface() || Modifier.isAbstract(modifiers);
-        if (interfaceOrAbstractClass) {
-            //TODO MM: allow to specify which maps are created.
-            //noinspection unchecked
-            HashMap hashMap = new HashMap();
-            return hashMap;
-        } else {
-            try {
-                Map result = (Map) type.newInstance();
-                //noinspection uncheckbed
-                return result;
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        }
+    private CollectionFactory<?> getMapFactory(Class<?> type) {
+        CollectionFactories collectionFactories = getInitializers().getCollectionFactories();
+        CollectionFactory<?> factory = collectionFactories.getFactory(type);
+        return factory != null ? factory : collectionFactories.getFactory(Map.class);
     }
 }
@@ -0,0 +1,153 @@
+package utils.initializers;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.TraversalState;
+
+/**
+ * Configures generation of items of large collections, arrays of objects and maps in parallel. Containers with at
+ * least {@link #getThreshold() threshold} items have their items generated in chunks of
+ * {@link #getChunkSize() chunk size} items, as fork-join tasks. Each chunk gets its own random stream, split from the
+ * container's one, and its own {@link TraversalState#fork forked} traversal state, both created before any chunk
+ * starts. Items are then added to the container in order.
+ *
+ * Generated values thus do not depend on number of threads, but they differ from values generated sequentially, and
+ * depend on chunk size. Only exception is reaching {@link GenerationLimits#getMaxObjects() max objects} during parallel
+ * generation, in which case it's not deterministic, which items are left null.
+ *
+ * Chunks are run in current fork-join pool, if generation already runs in one (ie. using
+ * {@link utils.generator.Generator}), in configured pool otherwise.
+ *
+ * Instances are immutable, use {@code with*} methods to derive configured ones.
+ * */
+public final class ParallelFill {
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+    private static final ParallelFill DISABLED = new ParallelFill(Integer.MAX_VALUE, DEFAULT_CHUNK_SIZE, null);
+
+    private final int threshold;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+
+    private ParallelFill(int threshold, int chunkSize, ForkJoinPool pool) {
+        if (threshold < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Threshold and chunk size have to be positive.");
+        }
+
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+        this.pool = pool;
+    }
+
+    /**
+     * @return configuration generating all items sequentially.
+     * */
+    public static ParallelFill disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @return configuration generating items of containers with at least given number of items in parallel, in
+     * chunks of 1024 items, using common pool.
+     * */
+    public static ParallelFill aboveItems(int threshold) {
+        return new ParallelFill(threshold, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    public ParallelFill withChunkSize(int chunkSize) {
+        return new ParallelFill(threshold, chunkSize, pool);
+    }
+
+    public ParallelFill withPool(ForkJoinPool pool) {
+        return new ParallelFill(threshold, chunkSize, pool);
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @return true if items of container with given number of items are to be generated by {@link #generate}.
+     * */
+    boolean isParallel(int itemCount) {
+        return itemCount >= threshold && pool != null;
+    }
+
+    /**
+     * Generates given number of items in parallel chunks.
+     *
+     * @param context context of container being filled.
+     * */
+    Object[] generate(int itemCount, ClassTreeTraverserContext context, ItemGenerator generator) {
+        int chunkCount = (int) ((itemCount + (long) chunkSize - 1) / chunkSize);
+
+        //streams and states are created upfront, in chunk order, so that they do not depend on scheduling.
+        TraversalState[] states = context.getTraversalState().fork(chunkCount);
+        ClassTreeTraverserContext[] chunkContexts = new ClassTreeTraverserContext[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            chunkContexts[i] = context.split(states[i]);
+        }
+
+        Object[] result = new Object[itemCount];
+        GeneratingTask task = new GeneratingTask(generator, chunkContexts, result, 0, chunkCount);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    interface ItemGenerator {
+        Object generate(int index, ClassTreeTraverserContext context);
+    }
+
+    private final class GeneratingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ItemGenerator generator;
+        private final ClassTreeTraverserContext[] chunkContexts;
+        private final Object[] result;
+        private final int fromChunk;
+        private final int toChunk;
+
+        private GeneratingTask(ItemGenerator generator,
+                               ClassTreeTraverserContext[] chunkContexts,
+                               Object[] result,
+                               int fromChunk,
+                               int toChunk) {
+            this.generator = generator;
+            this.chunkContexts = chunkContexts;
+            this.result = result;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                ClassTreeTraverserContext chunkContext = chunkContexts[fromChunk];
+                int from = fromChunk * chunkSize;
+                int to = Math.min(result.length, from + chunkSize);
+                for (int i = from; i < to; i++) {
+                    result[i] = generator.generate(i, chunkContext);
+                }
+            } else {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new GeneratingTask(generator, chunkContexts, result, fromChunk, middle),
+                        new GeneratingTask(generator, chunkContexts, result, middle, toChunk));
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package utils.initializers;
 
-import java.util.Random;
+import utils.random.RandomSource;
+import utils.traverser.ClassTreeTraverserContext;
 
 public abstract class RandomInitializer extends InitializerParent {
-    protected static final Random random = new Random();
 
+    protected RandomSource random(ClassTreeTraverserContext context) {
+        return context.getRandomSource();
+    }
 }
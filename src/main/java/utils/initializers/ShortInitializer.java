@@ -0,0 +1,21 @@
+package utils.initializers;
+
+import java.lang.reflect.Type;
+
+import utils.traverser.ClassTreeTraverserContext;
+
+public class ShortInitializer extends SimpleInitializer {
+    public ShortInitializer() {
+        super(Short.TYPE, Short.class);
+    }
+
+    @Override
+    public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
+        return getShort(context);
+    }
+
+    @Override
+    public short getShort(ClassTreeTraverserContext context) {
+        return (short) random(context).nextInt();
+    }
+}
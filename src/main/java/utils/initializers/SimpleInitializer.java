@@ -2,6 +2,7 @@ package utils.initializers;
 
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class SimpleInitializer extends RandomInitializer {
@@ -13,7 +14,14 @@ public abstract class SimpleInitializer extends RandomInitializer {
     }
 
     protected SimpleInitializer(List<Class<?>> classes) {
-        this.classes = classes;
+        this.classes = Collections.unmodifiableList(classes);
+    }
+
+    /**
+     * @return exact classes this initializer provides values for.
+     * */
+    public List<Class<?>> getSupportedClasses() {
+        return classes;
     }
 
     @Override
@@ -1,16 +1,193 @@
 package utils.initializers;
 
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
+import utils.random.RandomSource;
 import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.TraversalState;
 
+/**
+ * Generates strings of characters of given {@link Alphabet}, with lengths drawn from given {@link LengthDistribution},
+ * or, in dictionary mode, picks strings from given pool.
+ *
+ * Characters are written into per-thread buffer, so the only allocation is resulting string itself. Latin-1 alphabets
+ * use byte buffer, which is copied to compact string as is. Each random long provides 4 characters.
+ *
+ * Generated strings always respect configured alphabet and lengths, unless unique suffix is requested, see
+ * {@link #withUniqueSuffix()}.
+ * */
 public class StringInitializer extends SimpleInitializer {
+    /**
+     * Maximal length of unique suffix: separator, two base-36 encoded longs and separator between them.
+     * */
+    private static final int MAX_UNIQUE_SUFFIX_LENGTH = 1 + 13 + 1 + 13;
+
+    private static final ThreadLocal<byte[]> BYTE_BUFFERS = ThreadLocal.withInitial(() -> new byte[64]);
+    private static final ThreadLocal<char[]> CHAR_BUFFERS = ThreadLocal.withInitial(() -> new char[64]);
+
+    private final Alphabet alphabet;
+    private final LengthDistribution lengths;
+
+    /**
+     * Strings of dictionary mode, null if strings are generated from alphabet.
+     * */
+    private final String[] dictionary;
+
+    /**
+     * Whether strings of records of dataset get unique suffix.
+     * */
+    private final boolean uniqueSuffix;
+
+    /**
+     * Creates initializer generating alphanumeric strings 8 to 16 characters long.
+     * */
     public StringInitializer() {
+        this(Alphabet.ALPHANUMERIC, LengthDistribution.uniform(8, 16));
+    }
+
+    public StringInitializer(Alphabet alphabet, LengthDistribution lengths) {
+        this(alphabet, lengths, null, false);
+    }
+
+    private StringInitializer(Alphabet alphabet,
+                              LengthDistribution lengths,
+                              String[] dictionary,
+                              boolean uniqueSuffix) {
         super(String.class);
+        this.alphabet = alphabet;
+        this.lengths = lengths;
+        this.dictionary = dictionary;
+        this.uniqueSuffix = uniqueSuffix;
+    }
+
+    /**
+     * @return initializer picking strings from given pool. Strings are not copied, so the same instances are shared
+     * by all generated values.
+     * */
+    public static StringInitializer fromDictionary(List<String> dictionary) {
+        if (dictionary.isEmpty()) {
+            throw new IllegalArgumentException("Dictionary cannot be empty.");
+        }
+        return new StringInitializer(null, null, dictionary.toArray(new String[0]), false);
     }
 
+    /**
+     * @return initializer, which appends unique suffix {@code -<record index>.<sequence>}, both base-36 encoded, to
+     * strings of records of dataset, so they never collide within dataset. Suffix is up to 28 characters long and is
+     * not part of configured alphabet nor length; strings generated outside of dataset get no suffix.
+     * */
+    public StringInitializer withUniqueSuffix() {
+        if (dictionary != null) {
+            throw new IllegalStateException("Strings picked from dictionary cannot be unique.");
+        }
+        return new StringInitializer(alphabet, lengths, null, true);
+    }
+
+    /**
+     * Strings of records of dataset get unique suffix only if requested, see {@link #withUniqueSuffix()}.
+     * */
     @Override
     public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
-        return "RandomString: " + Long.toString(random.nextLong());
+        RandomSource random = random(context);
+        if (dictionary != null) {
+            return dictionary[random.nextInt(dictionary.length)];
+        }
+
+        int length = lengths.nextLength(random);
+        TraversalState traversalState = context.getTraversalState();
+        boolean unique = uniqueSuffix && traversalState.hasRecordIndex();
+        int capacity = unique ? length + MAX_UNIQUE_SUFFIX_LENGTH : length;
+
+        if (alphabet.isLatin1()) {
+            byte[] buffer = byteBuffer(capacity);
+            fillBytes(buffer, length, random);
+            int end = unique ? appendUniqueSuffix(buffer, null, length, traversalState) : length;
+            return new String(buffer, 0, end, StandardCharsets.ISO_8859_1);
+        } else {
+            char[] buffer = charBuffer(capacity);
+            fillChars(buffer, length, random);
+            int end = unique ? appendUniqueSuffix(null, buffer, length, traversalState) : length;
+            return new String(buffer, 0, end);
+        }
+    }
+
+    private static byte[] byteBuffer(int capacity) {
+        byte[] buffer = BYTE_BUFFERS.get();
+        if (buffer.length < capacity) {
+            buffer = new byte[Math.max(capacity, buffer.length * 2)];
+            BYTE_BUFFERS.set(buffer);
+        }
+        return buffer;
+    }
+
+    private static char[] charBuffer(int capacity) {
+        char[] buffer = CHAR_BUFFERS.get();
+        if (buffer.length < capacity) {
+            buffer = new char[Math.max(capacity, buffer.length * 2)];
+            CHAR_BUFFERS.set(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * Each random long is split into four 16 bit chunks, chunk is mapped to alphabet index using multiplication, which
+     * is faster than division, and biased by at most alphabet size / 65536.
+     * */
+    private void fillBytes(byte[] buffer, int length, RandomSource random) {
+        int size = alphabet.size();
+        for (int i = 0; i < length; i += 4) {
+            long bits = random.nextLong();
+            for (int j = i, end = Math.min(length, i + 4); j < end; j++, bits >>>= 16) {
+                buffer[j] = alphabet.byteAt((int) (((bits & 0xFFFF) * size) >>> 16));
+            }
+        }
+    }
+
+    private void fillChars(char[] buffer, int length, RandomSource random) {
+        int size = alphabet.size();
+        for (int i = 0; i < length; i += 4) {
+            long bits = random.nextLong();
+            for (int j = i, end = Math.min(length, i + 4); j < end; j++, bits >>>= 16) {
+                buffer[j] = alphabet.charAt((int) (((bits & 0xFFFF) * size) >>> 16));
+            }
+        }
+    }
+
+    /**
+     * Appends {@code -<record index>.<sequence>}, both base-36 encoded, to byte or char buffer, whichever is not null.
+     *
+     * @return new end of string in buffer.
+     * */
+    private static int appendUniqueSuffix(byte[] bytes,
+                                          char[] chars,
+                                          int position,
+                                          TraversalState traversalState) {
+        position = appendChar(bytes, chars, position, '-');
+        position = appendBase36(bytes, chars, position, traversalState.getRecordIndex());
+        position = appendChar(bytes, chars, position, '.');
+        return appendBase36(bytes, chars, position, traversalState.nextSequence());
+    }
+
+    private static int appendBase36(byte[] bytes, char[] chars, int position, long value) {
+        int digits = 1;
+        for (long rest = value / 36; rest > 0; rest /= 36) {
+            digits++;
+        }
+
+        for (int i = position + digits - 1; i >= position; i--, value /= 36) {
+            appendChar(bytes, chars, i, Character.forDigit((int) (value % 36), 36));
+        }
+        return position + digits;
+    }
+
+    private static int appendChar(byte[] bytes, char[] chars, int position, char c) {
+        if (bytes != null) {
+            bytes[position] = (byte) c;
+        } else {
+            chars[position] = c;
+        }
+        return position + 1;
     }
 }
@@ -3,15 +3,112 @@ package utils.initializers;
 import java.lang.reflect.Type;
 import java.util.UUID;
 
+import utils.random.RandomSource;
 import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.TraversalState;
 
+/**
+ * Creates RFC 4122 shaped UUIDs, version 4 or 7, according to {@link UuidMode}.
+ *
+ * UUIDs of records of dataset (see {@link utils.generator.Generator}) are, unless {@link UuidMode#SECURE} is used,
+ * derived from dataset seed, record index and sequence of value within record, so they are reproducible and never
+ * collide within dataset, no matter which thread or node generated them. Time ordered UUIDs of dataset use timestamp
+ * {@link #DATASET_EPOCH_MILLIS} plus record index, so records sort by their index.
+ * */
 public class UuidInitializer extends SimpleInitializer {
+    /**
+     * Timestamp of time ordered UUID of first record of dataset, 2020-01-01T00:00:00Z.
+     * */
+    public static final long DATASET_EPOCH_MILLIS = 1577836800000L;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long ODD_MULTIPLIER_1 = 0xBF58476D1CE4E5B9L;
+    private static final long ODD_MULTIPLIER_2 = 0x94D049BB133111EBL;
+    private static final long MASK_60_BITS = (1L << 60) - 1;
+    private static final long MASK_62_BITS = (1L << 62) - 1;
+    private static final long VERSION_4 = 0x4000L;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_IETF = 0x8000000000000000L;
+
+    private final UuidMode mode;
+
     public UuidInitializer() {
+        this(UuidMode.RANDOM);
+    }
+
+    public UuidInitializer(UuidMode mode) {
         super(UUID.class);
+        this.mode = mode;
     }
 
     @Override
     public Object getValue(Class<?> type, Type genericType, ClassTreeTraverserContext context) {
-        return UUID.randomUUID();
+        if (mode == UuidMode.SECURE) {
+            return UUID.randomUUID();
+        }
+
+        TraversalState traversalState = context.getTraversalState();
+        if (traversalState.hasRecordIndex()) {
+            return mode == UuidMode.TIME_ORDERED
+                    ? createUniqueTimeOrderedUuid(traversalState)
+                    : createUniqueUuid(traversalState);
+        }
+
+        RandomSource random = random(context);
+        if (mode == UuidMode.TIME_ORDERED) {
+            return createTimeOrderedUuid(System.currentTimeMillis(), random.nextLong(), random.nextLong());
+        }
+
+        return createRandomUuid(random.nextLong(), random.nextLong());
+    }
+
+    /**
+     * Creates version 4 UUID; 60 available bits of most significant half come from record index, 62 available bits of
+     * least significant half from sequence. Both are scrambled by bijective functions, so UUIDs look random, but do
+     * not collide for records with index below 2^60.
+     * */
+    private static UUID createUniqueUuid(TraversalState traversalState) {
+        long recordIndex = traversalState.getRecordIndex();
+        long seedMask = traversalState.getSeed() * GOLDEN_GAMMA;
+
+        long recordBits = ((recordIndex ^ seedMask) * ODD_MULTIPLIER_1) & MASK_60_BITS;
+        long mostSigBits = (recordBits >>> 12) << 16 | VERSION_4 | (recordBits & 0xFFFL);
+        return new UUID(mostSigBits, createUniqueLeastSigBits(traversalState));
+    }
+
+    /**
+     * Creates version 7 UUID with timestamp given by record index, random bits given by seed and scrambled sequence.
+     * Unique for records with index below 2^48 - {@link #DATASET_EPOCH_MILLIS}.
+     * */
+    private static UUID createUniqueTimeOrderedUuid(TraversalState traversalState) {
+        long timestamp = DATASET_EPOCH_MILLIS + traversalState.getRecordIndex();
+        long randomA = traversalState.getSeed() * GOLDEN_GAMMA;
+        return new UUID(timeOrderedMostSigBits(timestamp, randomA), createUniqueLeastSigBits(traversalState));
+    }
+
+    /**
+     * @return least significant half of UUID with variant bits set, which is unique for each sequence number of given
+     * record.
+     * */
+    private static long createUniqueLeastSigBits(TraversalState traversalState) {
+        long recordIndex = traversalState.getRecordIndex();
+        long sequenceBits = ((traversalState.nextSequence() + recordIndex * GOLDEN_GAMMA) * ODD_MULTIPLIER_2)
+                & MASK_62_BITS;
+        return sequenceBits | VARIANT_IETF;
+    }
+
+    private static UUID createRandomUuid(long randomA, long randomB) {
+        return new UUID((randomA & ~0xF000L) | VERSION_4, (randomB & MASK_62_BITS) | VARIANT_IETF);
+    }
+
+    private static UUID createTimeOrderedUuid(long timestamp, long randomA, long randomB) {
+        return new UUID(timeOrderedMostSigBits(timestamp, randomA), (randomB & MASK_62_BITS) | VARIANT_IETF);
+    }
+
+    /**
+     * @return 48 bits of timestamp, version and 12 bits of given random value.
+     * */
+    private static long timeOrderedMostSigBits(long timestamp, long randomA) {
+        return timestamp << 16 | VERSION_7 | (randomA & 0xFFFL);
     }
 }
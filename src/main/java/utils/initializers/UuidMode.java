@@ -0,0 +1,24 @@
+package utils.initializers;
+
+/**
+ * Decides how {@link UuidInitializer} creates UUIDs.
+ * */
+public enum UuidMode {
+    /**
+     * Version 4 UUIDs built from random source of context. Fast, non-blocking and reproducible with seeded source, but
+     * not cryptographically strong.
+     * */
+    RANDOM,
+
+    /**
+     * Version 7 UUIDs: current time in milliseconds followed by bits from random source of context. UUIDs created later
+     * sort after earlier ones, which keeps database indexes compact.
+     * */
+    TIME_ORDERED,
+
+    /**
+     * Version 4 UUIDs from {@link java.util.UUID#randomUUID()}, which uses shared {@link java.security.SecureRandom}.
+     * Slow, and can block waiting for entropy; use only when test data must not be predictable.
+     * */
+    SECURE
+}
@@ -0,0 +1,48 @@
+package utils.metrics;
+
+import utils.initializers.Initializer;
+import utils.traverser.ClassTreeTraverserContext;
+
+/**
+ * Receives measurements of generation. Listener is called by {@link utils.Initializers} for each generated value and
+ * by traversers for each traversed instance. Measured time and allocation are inclusive, ie. time of generating
+ * instance includes generating its fields.
+ *
+ * Listener is registered only by giving it to {@link utils.Initializers}; traversers using those initializers, ie.
+ * {@link utils.traverser.PopulatingTraverser}, or {@link utils.traverser.FieldTraverser} with
+ * {@link utils.traverser.InitializingTraversingProcessor}, report to the same listener.
+ *
+ * Without registered listener nothing is measured. Listener can be called concurrently from multiple threads.
+ *
+ * @see GenerationMetrics
+ * */
+public interface GenerationListener {
+
+    /**
+     * @return true if listener wants allocated bytes to be measured. Measuring allocation costs more than measuring time.
+     * */
+    default boolean isAllocationMeasured() {
+        return false;
+    }
+
+    /**
+     * @param type type of generated value.
+     * @param initializer initializer, which generated value.
+     * @param context context of generated value.
+     * @param nanos time spent generating value.
+     * @param allocatedBytes bytes allocated by current thread while generating value, 0 if not measured.
+     * */
+    void valueGenerated(Class<?> type,
+                        Initializer initializer,
+                        ClassTreeTraverserContext context,
+                        long nanos,
+                        long allocatedBytes);
+
+    /**
+     * @param type class instance was traversed as.
+     * @param context context, in which instance was traversed.
+     * @param nanos time spent traversing instance.
+     * @param allocatedBytes bytes allocated by current thread while traversing instance, 0 if not measured.
+     * */
+    void instanceTraversed(Class<?> type, ClassTreeTraverserContext context, long nanos, long allocatedBytes);
+}
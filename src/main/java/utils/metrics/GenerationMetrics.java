@@ -0,0 +1,182 @@
+package utils.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import utils.initializers.Initializer;
+import utils.traverser.ClassTreeTraverserContext;
+
+/**
+ * Listener aggregating counts, cumulative time and allocated bytes per generated type, per initializer and per
+ * traversed type, together with maximal depth reached. Use {@link #snapshot()} to read aggregated values, or register
+ * it as MBean to watch them using JMX.
+ *
+ * Metrics are thread safe, updates from multiple threads do not contend on single counter.
+ * */
+public class GenerationMetrics implements GenerationListener, GenerationMetricsMXBean {
+    private final boolean allocationMeasured;
+
+    private final ConcurrentMap<Class<?>, Counter> valuesByType = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Counter> valuesByInitializer = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Counter> instancesByType = new ConcurrentHashMap<>();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+    public GenerationMetrics() {
+        this(false);
+    }
+
+    /**
+     * @param allocationMeasured whether to measure bytes allocated by generating threads.
+     * */
+    public GenerationMetrics(boolean allocationMeasured) {
+        this.allocationMeasured = allocationMeasured;
+    }
+
+    @Override
+    public boolean isAllocationMeasured() {
+        return allocationMeasured;
+    }
+
+    @Override
+    public void valueGenerated(Class<?> type,
+                               Initializer initializer,
+                               ClassTreeTraverserContext context,
+                               long nanos,
+                               long allocatedBytes) {
+        counter(valuesByType, type).add(nanos, allocatedBytes);
+        counter(valuesByInitializer, initializer.getClass()).add(nanos, allocatedBytes);
+        maxDepth.accumulate(context.getDepth());
+    }
+
+    @Override
+    public void instanceTraversed(Class<?> type, ClassTreeTraverserContext context, long nanos, long allocatedBytes) {
+        counter(instancesByType, type).add(nanos, allocatedBytes);
+        maxDepth.accumulate(context.getDepth());
+    }
+
+    private static Counter counter(ConcurrentMap<Class<?>, Counter> counters, Class<?> key) {
+        Counter result = counters.get(key);
+        return result != null ? result : counters.computeIfAbsent(key, e -> new Counter());
+    }
+
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(toEntries(valuesByType),
+                toEntries(valuesByInitializer),
+                toEntries(instancesByType),
+                (int) maxDepth.get());
+    }
+
+    private static Map<Class<?>, MetricsSnapshot.Entry> toEntries(Map<Class<?>, Counter> counters) {
+        Map<Class<?>, MetricsSnapshot.Entry> result = new HashMap<>();
+        counters.forEach((key, counter) -> result.put(key, counter.toEntry()));
+        return result;
+    }
+
+    /**
+     * Registers this instance to platform MBean server.
+     *
+     * @param objectName object name to register, ie. {@code utils.metrics:type=GenerationMetrics}.
+     * @return registered name.
+     * */
+    public ObjectName registerMBean(String objectName) {
+        try {
+            ObjectName name = new ObjectName(objectName);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register MBean " + objectName, e);
+        }
+    }
+
+    @Override
+    public void reset() {
+        valuesByType.clear();
+        valuesByInitializer.clear();
+        instancesByType.clear();
+        maxDepth.reset();
+    }
+
+    @Override
+    public long getGeneratedValues() {
+        return snapshot().getGeneratedValues();
+    }
+
+    @Override
+    public int getMaxDepth() {
+        return (int) maxDepth.get();
+    }
+
+    @Override
+    public Map<String, Long> getValueCountsByType() {
+        return byName(valuesByType, Counter::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getValueNanosByType() {
+        return byName(valuesByType, Counter::getNanos);
+    }
+
+    @Override
+    public Map<String, Long> getValueAllocatedBytesByType() {
+        return byName(valuesByType, Counter::getAllocatedBytes);
+    }
+
+    @Override
+    public Map<String, Long> getValueCountsByInitializer() {
+        return byName(valuesByInitializer, Counter::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getValueNanosByInitializer() {
+        return byName(valuesByInitializer, Counter::getNanos);
+    }
+
+    @Override
+    public Map<String, Long> getInstanceCountsByType() {
+        return byName(instancesByType, Counter::getCount);
+    }
+
+    private static Map<String, Long> byName(Map<Class<?>, Counter> counters, ToLongFunction<Counter> value) {
+        Map<String, Long> result = new HashMap<>();
+        counters.forEach((key, counter) -> result.put(key.getName(), value.applyAsLong(counter)));
+        return result;
+    }
+
+    private static final class Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private void add(long nanos, long allocatedBytes) {
+            this.count.increment();
+            this.nanos.add(nanos);
+            if (allocatedBytes != 0) {
+                this.allocatedBytes.add(allocatedBytes);
+            }
+        }
+
+        private long getCount() {
+            return count.sum();
+        }
+
+        private long getNanos() {
+            return nanos.sum();
+        }
+
+        private long getAllocatedBytes() {
+            return allocatedBytes.sum();
+        }
+
+        private MetricsSnapshot.Entry toEntry() {
+            return new MetricsSnapshot.Entry(getCount(), getNanos(), getAllocatedBytes());
+        }
+    }
+}
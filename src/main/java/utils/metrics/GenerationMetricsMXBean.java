@@ -0,0 +1,26 @@
+package utils.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link GenerationMetrics}. Maps are keyed by class name.
+ * */
+public interface GenerationMetricsMXBean {
+    long getGeneratedValues();
+
+    int getMaxDepth();
+
+    Map<String, Long> getValueCountsByType();
+
+    Map<String, Long> getValueNanosByType();
+
+    Map<String, Long> getValueAllocatedBytesByType();
+
+    Map<String, Long> getValueCountsByInitializer();
+
+    Map<String, Long> getValueNanosByInitializer();
+
+    Map<String, Long> getInstanceCountsByType();
+
+    void reset();
+}
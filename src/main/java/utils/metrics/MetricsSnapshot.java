@@ -0,0 +1,98 @@
+package utils.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable copy of {@link GenerationMetrics} taken at some point in time.
+ * */
+public final class MetricsSnapshot {
+    private final Map<Class<?>, Entry> valuesByType;
+    private final Map<Class<?>, Entry> valuesByInitializer;
+    private final Map<Class<?>, Entry> instancesByType;
+    private final int maxDepth;
+
+    MetricsSnapshot(Map<Class<?>, Entry> valuesByType,
+                    Map<Class<?>, Entry> valuesByInitializer,
+                    Map<Class<?>, Entry> instancesByType,
+                    int maxDepth) {
+        this.valuesByType = Collections.unmodifiableMap(new LinkedHashMap<>(valuesByType));
+        this.valuesByInitializer = Collections.unmodifiableMap(new LinkedHashMap<>(valuesByInitializer));
+        this.instancesByType = Collections.unmodifiableMap(new LinkedHashMap<>(instancesByType));
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return measurements of generated values per type of value.
+     * */
+    public Map<Class<?>, Entry> getValuesByType() {
+        return valuesByType;
+    }
+
+    /**
+     * @return measurements of generated values per class of initializer, which generated them.
+     * */
+    public Map<Class<?>, Entry> getValuesByInitializer() {
+        return valuesByInitializer;
+    }
+
+    /**
+     * @return measurements of traversed instances per class they were traversed as.
+     * */
+    public Map<Class<?>, Entry> getInstancesByType() {
+        return instancesByType;
+    }
+
+    /**
+     * @return total number of generated values.
+     * */
+    public long getGeneratedValues() {
+        return valuesByType.values().stream().mapToLong(Entry::getCount).sum();
+    }
+
+    /**
+     * @return maximal depth of generated value or traversed instance.
+     * */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Measurements of single type or initializer.
+     * */
+    public static final class Entry {
+        private final long count;
+        private final long nanos;
+        private final long allocatedBytes;
+
+        Entry(long count, long nanos, long allocatedBytes) {
+            this.count = count;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return cumulative, inclusive time in nanoseconds.
+         * */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return cumulative, inclusive allocated bytes, 0 if allocation was not measured.
+         * */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", nanos=" + nanos + ", allocatedBytes=" + allocatedBytes;
+        }
+    }
+}
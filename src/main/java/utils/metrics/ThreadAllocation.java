@@ -0,0 +1,39 @@
+package utils.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads number of bytes allocated by current thread, using HotSpot specific {@code com.sun.management.ThreadMXBean}.
+ * On JVMs without it, or with allocation measurement disabled, reports 0.
+ * */
+public final class ThreadAllocation {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = findThreadMXBean();
+
+    private ThreadAllocation() {
+    }
+
+    private static com.sun.management.ThreadMXBean findThreadMXBean() {
+        try {
+            java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean result = (com.sun.management.ThreadMXBean) threadMXBean;
+                if (result.isThreadAllocatedMemorySupported() && result.isThreadAllocatedMemoryEnabled()) {
+                    return result;
+                }
+            }
+        } catch (LinkageError | SecurityException e) {
+            //not HotSpot, allocation cannot be measured.
+        }
+        return null;
+    }
+
+    /**
+     * @return bytes allocated by current thread so far, or 0 if it cannot be measured.
+     * */
+    public static long currentThreadAllocatedBytes() {
+        if (THREAD_MX_BEAN == null) {
+            return 0;
+        }
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
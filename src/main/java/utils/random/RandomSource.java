@@ -0,0 +1,77 @@
+package utils.random;
+
+/**
+ * Source of random values used by initializers. Source is obtained from
+ * {@link utils.traverser.ClassTreeTraverserContext}, so each traversal can use its own one.
+ *
+ * Implementations need not to be thread safe, unless stated otherwise. Work handed over to other thread should use
+ * {@link #split()} stream instead.
+ * */
+public interface RandomSource {
+
+    boolean nextBoolean();
+
+    int nextInt();
+
+    /**
+     * @return value between 0 (inclusive) and bound (exclusive).
+     * */
+    int nextInt(int bound);
+
+    long nextLong();
+
+    /**
+     * @return value between 0 (inclusive) and 1 (exclusive).
+     * */
+    double nextDouble();
+
+    /**
+     * Fills given array with random bytes.
+     * */
+    default void nextBytes(byte[] bytes) {
+        int i = 0;
+        int length = bytes.length;
+        //eight bytes from each long.
+        for (int words = length >> 3; words-- > 0; ) {
+            long value = nextLong();
+            for (int n = 0; n < Long.BYTES; n++, value >>>= Byte.SIZE) {
+                bytes[i++] = (byte) value;
+            }
+        }
+
+        if (i < length) {
+            for (long value = nextLong(); i < length; value >>>= Byte.SIZE) {
+                bytes[i++] = (byte) value;
+            }
+        }
+    }
+
+    /**
+     * @return new source, statistically independent of this one. If this source is seeded, returned one is
+     * deterministically derived from it.
+     * */
+    RandomSource split();
+
+    /**
+     * @return thread safe, contention free source, which cannot be seeded.
+     * */
+    static RandomSource threadLocal() {
+        return ThreadLocalRandomSource.INSTANCE;
+    }
+
+    /**
+     * @return source producing same values for same seed. Not thread safe.
+     * */
+    static RandomSource seeded(long seed) {
+        return new SplittableRandomSource(seed);
+    }
+
+    /**
+     * @return source for stream number {@code streamIndex} derived from given seed. Unlike repeated {@link #split()},
+     * any stream can be created directly, without creating the preceding ones, so work can be distributed over
+     * threads or processes arbitrarily while each stream stays the same. Not thread safe.
+     * */
+    static RandomSource seeded(long seed, long streamIndex) {
+        return new SplittableRandomSource(SplittableRandomSource.mix(seed, streamIndex));
+    }
+}
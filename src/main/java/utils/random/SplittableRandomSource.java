@@ -0,0 +1,65 @@
+package utils.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seedable {@link RandomSource} backed by {@link SplittableRandom}. Not thread safe, threads should use their own
+ * {@link #split()} streams.
+ * */
+final class SplittableRandomSource implements RandomSource {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final SplittableRandom random;
+
+    SplittableRandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SplittableRandomSource(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * Derives seed of stream from master seed and stream index, so that neighbouring indices give unrelated seeds.
+     * */
+    static long mix(long seed, long streamIndex) {
+        return mix64(seed ^ mix64(streamIndex * GOLDEN_GAMMA + GOLDEN_GAMMA));
+    }
+
+    //David Stafford's variant 13 of MurmurHash3 finalizer, same as used by SplittableRandom.
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    @Override
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Override
+    public RandomSource split() {
+        return new SplittableRandomSource(random.split());
+    }
+}
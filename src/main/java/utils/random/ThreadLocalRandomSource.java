@@ -0,0 +1,49 @@
+package utils.random;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@link RandomSource} backed by {@link ThreadLocalRandom}. Each thread uses its own generator, so source can be shared
+ * freely among threads. Splitting returns the same source, as it is already independent per thread.
+ * */
+final class ThreadLocalRandomSource implements RandomSource {
+    static final ThreadLocalRandomSource INSTANCE = new ThreadLocalRandomSource();
+
+    private ThreadLocalRandomSource() {
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return ThreadLocalRandom.current().nextBoolean();
+    }
+
+    @Override
+    public int nextInt() {
+        return ThreadLocalRandom.current().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return ThreadLocalRandom.current().nextDouble();
+    }
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        ThreadLocalRandom.current().nextBytes(bytes);
+    }
+
+    @Override
+    public RandomSource split() {
+        return this;
+    }
+}
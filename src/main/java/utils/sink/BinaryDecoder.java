@@ -0,0 +1,302 @@
+package utils.sink;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+
+import utils.GenericTypeUtil;
+import utils.TypeResolver;
+import utils.initializers.CollectionFactories;
+import utils.initializers.CollectionFactory;
+import utils.traverser.FieldAccessor;
+import utils.traverser.TypePlan;
+import utils.traverser.TypePlan.FieldPlan;
+
+/**
+ * Reads values written by {@link BinaryEncoder}. Format does not carry types, so values are decoded as types they are
+ * declared as: objects are created using public no-arg constructor of declared type and their fields are read in
+ * {@link TypePlan} order, collections and maps are created by {@link CollectionFactories}, integral numbers are
+ * narrowed to declared type and so on.
+ *
+ * Decoder is stateless, it reads from buffer given to each call, so it can be used concurrently.
+ * */
+final class BinaryDecoder {
+    private static final ClassValue<Constructor<?>> PUBLIC_NO_ARG_CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+                return null;
+            }
+            try {
+                return type.getConstructor();
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private final CollectionFactories collectionFactories;
+
+    BinaryDecoder(CollectionFactories collectionFactories) {
+        this.collectionFactories = collectionFactories;
+    }
+
+    /**
+     * Reads record of given type from current position of buffer, including its length.
+     * */
+    <T> T readRecord(ByteBuffer buffer, Class<T> type) {
+        int length = buffer.getInt();
+        int end = buffer.position() + length;
+
+        T result = type.cast(newInstance(type));
+        readFields(buffer, result);
+
+        if (buffer.position() != end) {
+            throw new IllegalStateException("Record of " + type.getName() + " does not match its length, "
+                    + "was snapshot written for different version of the class?");
+        }
+        return result;
+    }
+
+    private void readFields(ByteBuffer buffer, Object instance) {
+        for (FieldPlan field : TypePlan.of(instance.getClass()).getFields()) {
+            if (field.getType().isPrimitive()) {
+                readPrimitiveField(buffer, field, instance);
+            } else {
+                field.getAccessor().set(instance, readValue(buffer, field.getType(), field.getGenericType()));
+            }
+        }
+    }
+
+    /**
+     * Sets primitive field without boxing its value. Null leaves field with its default value.
+     * */
+    private void readPrimitiveField(ByteBuffer buffer, FieldPlan field, Object instance) {
+        FieldAccessor accessor = field.getAccessor();
+        Class<?> type = field.getType();
+        byte tag = buffer.get();
+        switch (tag) {
+            case BinaryEncoder.NULL:
+                break;
+            case BinaryEncoder.FALSE:
+            case BinaryEncoder.TRUE:
+                accessor.setBoolean(instance, tag == BinaryEncoder.TRUE);
+                break;
+            case BinaryEncoder.INT:
+                long value = readZigZag(buffer);
+                if (type == Integer.TYPE) {
+                    accessor.setInt(instance, (int) value);
+                } else if (type == Long.TYPE) {
+                    accessor.setLong(instance, value);
+                } else if (type == Short.TYPE) {
+                    accessor.setShort(instance, (short) value);
+                } else if (type == Byte.TYPE) {
+                    accessor.setByte(instance, (byte) value);
+                } else if (type == Character.TYPE) {
+                    accessor.setChar(instance, (char) value);
+                } else {
+                    throw unexpectedTag(tag, type);
+                }
+                break;
+            case BinaryEncoder.FLOAT:
+                accessor.setFloat(instance, Float.intBitsToFloat(buffer.getInt()));
+                break;
+            case BinaryEncoder.DOUBLE:
+                accessor.setDouble(instance, Double.longBitsToDouble(buffer.getLong()));
+                break;
+            default:
+                throw unexpectedTag(tag, type);
+        }
+    }
+
+    private Object readValue(ByteBuffer buffer, Class<?> type, Type genericType) {
+        byte tag = buffer.get();
+        switch (tag) {
+            case BinaryEncoder.NULL:
+                return null;
+            case BinaryEncoder.FALSE:
+                return Boolean.FALSE;
+            case BinaryEncoder.TRUE:
+                return Boolean.TRUE;
+            case BinaryEncoder.INT:
+                return toIntegral(readZigZag(buffer), type);
+            case BinaryEncoder.FLOAT:
+                return Float.intBitsToFloat(buffer.getInt());
+            case BinaryEncoder.DOUBLE:
+                return Double.longBitsToDouble(buffer.getLong());
+            case BinaryEncoder.STRING:
+                return toStringLike(readString(buffer), type);
+            case BinaryEncoder.UUID:
+                return new UUID(buffer.getLong(), buffer.getLong());
+            case BinaryEncoder.BYTES:
+                byte[] bytes = new byte[readLength(buffer)];
+                buffer.get(bytes);
+                return bytes;
+            case BinaryEncoder.OBJECT:
+                Object instance = newInstance(type);
+                readFields(buffer, instance);
+                return instance;
+            case BinaryEncoder.ARRAY:
+                return GenericTypeUtil.isArray(genericType)
+                        ? readArray(buffer, genericType)
+                        : readCollection(buffer, type, genericType);
+            case BinaryEncoder.MAP:
+                return readMap(buffer, type, genericType);
+            default:
+                throw unexpectedTag(tag, type);
+        }
+    }
+
+    private Object readArray(ByteBuffer buffer, Type genericType) {
+        Type elementGenericType = GenericTypeUtil.getTypeOfArrayElements(genericType);
+        Class<?> elementType = GenericTypeUtil.getClassType(elementGenericType);
+
+        int length = readLength(buffer);
+        Object result = Array.newInstance(elementType, length);
+        for (int i = 0; i < length; i++) {
+            Object item = readValue(buffer, elementType, elementGenericType);
+            //null items of primitive arrays are left with default value.
+            if (item != null || !elementType.isPrimitive()) {
+                Array.set(result, i, item);
+            }
+        }
+        return result;
+    }
+
+    private Object readCollection(ByteBuffer buffer, Class<?> type, Type genericType) {
+        Type elementGenericType = getTypeArgument(genericType, 0);
+        Class<?> elementType = GenericTypeUtil.getClassType(elementGenericType);
+
+        int size = readLength(buffer);
+        //noinspection unchecked
+        CollectionFactory<Collection<Object>> factory = (CollectionFactory<Collection<Object>>)
+                getFactory(type, Set.class.isAssignableFrom(type) ? Set.class
+                        : Queue.class.isAssignableFrom(type) ? Queue.class
+                        : List.class);
+        Collection<Object> result = factory.create(size);
+        for (int i = 0; i < size; i++) {
+            result.add(readValue(buffer, elementType, elementGenericType));
+        }
+        return factory.complete(result);
+    }
+
+    private Object readMap(ByteBuffer buffer, Class<?> type, Type genericType) {
+        Type keyGenericType = getTypeArgument(genericType, 0);
+        Type valueGenericType = getTypeArgument(genericType, 1);
+        Class<?> keyType = GenericTypeUtil.getClassType(keyGenericType);
+        Class<?> valueType = GenericTypeUtil.getClassType(valueGenericType);
+
+        int size = readLength(buffer);
+        //noinspection unchecked
+        CollectionFactory<Map<Object, Object>> factory =
+                (CollectionFactory<Map<Object, Object>>) getFactory(type, Map.class);
+        Map<Object, Object> result = factory.create(size);
+        for (int i = 0; i < size; i++) {
+            Object key = readValue(buffer, keyType, keyGenericType);
+            result.put(key, readValue(buffer, valueType, valueGenericType));
+        }
+        return factory.complete(result);
+    }
+
+    private CollectionFactory<?> getFactory(Class<?> type, Class<?> defaultType) {
+        CollectionFactory<?> factory = collectionFactories.getFactory(type);
+        return factory != null ? factory : collectionFactories.getFactory(defaultType);
+    }
+
+    private static Type getTypeArgument(Type genericType, int index) {
+        if (genericType instanceof ParameterizedType) {
+            return TypeResolver.toBound(((ParameterizedType) genericType).getActualTypeArguments()[index]);
+        }
+        return Object.class;
+    }
+
+    private static Object newInstance(Class<?> type) {
+        Constructor<?> constructor = PUBLIC_NO_ARG_CONSTRUCTORS.get(type);
+        if (constructor == null) {
+            throw new IllegalStateException("Missing public no-arg constructor: " + type);
+        }
+
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Object toIntegral(long value, Class<?> type) {
+        if (type == Integer.class || type == Integer.TYPE) {
+            return (int) value;
+        } else if (type == Short.class || type == Short.TYPE) {
+            return (short) value;
+        } else if (type == Byte.class || type == Byte.TYPE) {
+            return (byte) value;
+        } else if (type == Character.class || type == Character.TYPE) {
+            return (char) value;
+        } else if (type == Date.class) {
+            return new Date(value);
+        } else {
+            return value;
+        }
+    }
+
+    private static Object toStringLike(String value, Class<?> type) {
+        if (type.isEnum()) {
+            //noinspection unchecked,rawtypes
+            return Enum.valueOf((Class) type, value);
+        }
+        return value;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readLength(buffer);
+        if (buffer.hasArray()) {
+            int offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(buffer.array(), offset, length, StandardCharsets.UTF_8);
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(ByteBuffer buffer) {
+        long result = readVarLong(buffer);
+        if (result > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Invalid length: " + result);
+        }
+        return (int) result;
+    }
+
+    private static long readZigZag(ByteBuffer buffer) {
+        long value = readVarLong(buffer);
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("Malformed varint.");
+    }
+
+    private static IllegalStateException unexpectedTag(byte tag, Class<?> type) {
+        return new IllegalStateException("Unexpected tag " + tag + " of value of type " + type.getName());
+    }
+}
@@ -0,0 +1,141 @@
+package utils.sink;
+
+import java.util.UUID;
+
+/**
+ * Writes records in compact binary format. Each record is 4-byte big-endian length of payload followed by payload:
+ * values of fields of record type in {@link utils.traverser.TypePlan plan} order, without names. Each value starts
+ * with one-byte tag:
+ * <ul>
+ *     <li>{@link #NULL}, {@link #FALSE}, {@link #TRUE}: no data follows.</li>
+ *     <li>{@link #INT}: zigzag-encoded varint; used for all integral types, chars and dates (epoch millis).</li>
+ *     <li>{@link #FLOAT}, {@link #DOUBLE}: 4 or 8 bytes of IEEE 754 bits, big-endian.</li>
+ *     <li>{@link #STRING}: varint length in bytes, then UTF-8 bytes; used for enums (by name) too.</li>
+ *     <li>{@link #OBJECT}: values of fields of object type, in plan order.</li>
+ *     <li>{@link #ARRAY}: varint item count, then items.</li>
+ *     <li>{@link #MAP}: varint entry count, then keys and values, alternating.</li>
+ *     <li>{@link #UUID}: 16 bytes, most significant first.</li>
+ *     <li>{@link #BYTES}: varint length, then raw bytes.</li>
+ * </ul>
+ * */
+class BinaryEncoder extends RecordEncoder {
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte INT = 3;
+    static final byte FLOAT = 4;
+    static final byte DOUBLE = 5;
+    static final byte STRING = 6;
+    static final byte OBJECT = 7;
+    static final byte ARRAY = 8;
+    static final byte MAP = 9;
+    static final byte UUID = 10;
+    static final byte BYTES = 11;
+
+    /**
+     * Position of length of record being written.
+     * */
+    private int recordStart;
+
+    BinaryEncoder(ByteSink sink) {
+        super(sink);
+    }
+
+    @Override
+    void beginRecord() {
+        recordStart = sink.position();
+        sink.putInt(0);
+    }
+
+    @Override
+    void endRecord() {
+        sink.putInt(recordStart, sink.position() - recordStart - Integer.BYTES);
+    }
+
+    @Override
+    void fieldName(String name) {
+    }
+
+    @Override
+    void beginObject() {
+        sink.put(OBJECT);
+    }
+
+    @Override
+    void endObject() {
+    }
+
+    @Override
+    void beginArray(int size) {
+        sink.put(ARRAY);
+        sink.putVarLong(size);
+    }
+
+    @Override
+    void endArray() {
+    }
+
+    @Override
+    void beginMap(int size) {
+        sink.put(MAP);
+        sink.putVarLong(size);
+    }
+
+    @Override
+    void endMap() {
+    }
+
+    @Override
+    void writeNull() {
+        sink.put(NULL);
+    }
+
+    @Override
+    void writeBoolean(boolean value) {
+        sink.put(value ? TRUE : FALSE);
+    }
+
+    @Override
+    void writeLong(long value) {
+        sink.put(INT);
+        sink.putVarLong(value << 1 ^ value >> 63);
+    }
+
+    @Override
+    void writeFloat(float value) {
+        sink.put(FLOAT);
+        sink.putInt(Float.floatToRawIntBits(value));
+    }
+
+    @Override
+    void writeDouble(double value) {
+        sink.put(DOUBLE);
+        sink.putLong(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    void writeChar(char value) {
+        writeLong(value);
+    }
+
+    @Override
+    void writeString(CharSequence value) {
+        sink.put(STRING);
+        sink.putVarLong(ByteSink.utf8Length(value));
+        sink.putUtf8(value);
+    }
+
+    @Override
+    void writeUuid(UUID value) {
+        sink.put(UUID);
+        sink.putLong(value.getMostSignificantBits());
+        sink.putLong(value.getLeastSignificantBits());
+    }
+
+    @Override
+    void writeBytes(byte[] value) {
+        sink.put(BYTES);
+        sink.putVarLong(value.length);
+        sink.put(value);
+    }
+}
@@ -0,0 +1,205 @@
+package utils.sink;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Buffer encoders write to. Either wraps buffer given by caller, in which case running out of space throws
+ * {@link BufferOverflowException}, or owns heap buffer, which grows as needed and can be drained to channel.
+ * */
+final class ByteSink {
+    private final boolean growable;
+    private ByteBuffer buffer;
+
+    private ByteSink(ByteBuffer buffer, boolean growable) {
+        this.buffer = buffer;
+        this.growable = growable;
+    }
+
+    static ByteSink wrap(ByteBuffer buffer) {
+        return new ByteSink(buffer, false);
+    }
+
+    static ByteSink growable(int initialCapacity) {
+        return new ByteSink(ByteBuffer.allocate(initialCapacity), true);
+    }
+
+    int position() {
+        return buffer.position();
+    }
+
+    void ensureRemaining(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (!growable) {
+            throw new BufferOverflowException();
+        }
+
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+
+    void put(byte value) {
+        ensureRemaining(1);
+        buffer.put(value);
+    }
+
+    void put(byte[] value) {
+        ensureRemaining(value.length);
+        buffer.put(value);
+    }
+
+    void putInt(int value) {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putInt(int position, int value) {
+        buffer.putInt(position, value);
+    }
+
+    void putLong(long value) {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    /**
+     * Writes characters, which are known to be ASCII, ie. digits.
+     * */
+    void putAscii(String value) {
+        int length = value.length();
+        ensureRemaining(length);
+        for (int i = 0; i < length; i++) {
+            buffer.put((byte) value.charAt(i));
+        }
+    }
+
+    /**
+     * Writes decimal representation of given value without creating string.
+     * */
+    void putDecimal(long value) {
+        if (value == Long.MIN_VALUE) {
+            putAscii(Long.toString(value));
+            return;
+        }
+
+        ensureRemaining(20);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+
+        int end = buffer.position() + digits;
+        for (int i = end - 1; i >= buffer.position(); i--, value /= 10) {
+            buffer.put(i, (byte) ('0' + value % 10));
+        }
+        buffer.position(end);
+    }
+
+    /**
+     * Writes unsigned LEB128 varint.
+     * */
+    void putVarLong(long value) {
+        ensureRemaining(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes given character as UTF-8.
+     * */
+    void putUtf8(char c) {
+        ensureRemaining(3);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        } else {
+            //lone surrogates are written as they are, there's no pair to combine them with.
+            buffer.put((byte) (0xE0 | c >> 12));
+            buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        }
+    }
+
+    /**
+     * Writes given code point as UTF-8.
+     * */
+    void putUtf8CodePoint(int codePoint) {
+        if (codePoint < 0x10000) {
+            putUtf8((char) codePoint);
+            return;
+        }
+
+        ensureRemaining(4);
+        buffer.put((byte) (0xF0 | codePoint >> 18));
+        buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+        buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+        buffer.put((byte) (0x80 | codePoint & 0x3F));
+    }
+
+    /**
+     * @return number of bytes given string takes in UTF-8, as written by {@link #putUtf8(CharSequence)}.
+     * */
+    static int utf8Length(CharSequence value) {
+        int result = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                result++;
+            } else if (c < 0x800) {
+                result += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                result += 4;
+                i++;
+            } else {
+                result += 3;
+            }
+        }
+        return result;
+    }
+
+    void putUtf8(CharSequence value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                put((byte) c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                putUtf8CodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else {
+                putUtf8(c);
+            }
+        }
+    }
+
+    /**
+     * Writes all buffered bytes to given channel and clears buffer.
+     *
+     * @return number of written bytes.
+     * */
+    long drainTo(WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        long result = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        return result;
+    }
+}
@@ -0,0 +1,204 @@
+package utils.sink;
+
+import java.util.UUID;
+
+import utils.traverser.TypePlan;
+import utils.traverser.TypePlan.FieldPlan;
+
+/**
+ * Writes records as CSV (RFC 4180, with LF line ends): header with names of fields of record type, then one line per
+ * record. Each field of record is one cell; strings are always quoted, nulls are empty cells. Nested objects, arrays
+ * and maps are written as JSON into single quoted cell.
+ * */
+class CsvEncoder extends RecordEncoder {
+    private final JsonEncoder embeddedJson;
+
+    /**
+     * Depth of nested value being written as JSON, 0 when writing cells of record.
+     * */
+    private int depth;
+    private int cellIndex;
+
+    CsvEncoder(ByteSink sink) {
+        super(sink);
+        this.embeddedJson = new JsonEncoder(sink, true);
+    }
+
+    @Override
+    void writeHeader(TypePlan plan) {
+        int index = 0;
+        for (FieldPlan field : plan.getFields()) {
+            if (index++ > 0) {
+                sink.put((byte) ',');
+            }
+            writeQuoted(field.getName());
+        }
+        sink.put((byte) '\n');
+    }
+
+    @Override
+    void beginRecord() {
+        depth = 0;
+        cellIndex = 0;
+    }
+
+    @Override
+    void endRecord() {
+        sink.put((byte) '\n');
+    }
+
+    @Override
+    void fieldName(String name) {
+        if (depth > 0) {
+            embeddedJson.fieldName(name);
+        } else if (cellIndex++ > 0) {
+            sink.put((byte) ',');
+        }
+    }
+
+    @Override
+    void beginObject() {
+        beginNested();
+        embeddedJson.beginObject();
+    }
+
+    @Override
+    void endObject() {
+        embeddedJson.endObject();
+        endNested();
+    }
+
+    @Override
+    void beginArray(int size) {
+        beginNested();
+        embeddedJson.beginArray(size);
+    }
+
+    @Override
+    void endArray() {
+        embeddedJson.endArray();
+        endNested();
+    }
+
+    @Override
+    void beginMap(int size) {
+        beginNested();
+        embeddedJson.beginMap(size);
+    }
+
+    @Override
+    void endMap() {
+        embeddedJson.endMap();
+        endNested();
+    }
+
+    private void beginNested() {
+        if (depth++ == 0) {
+            sink.put((byte) '"');
+        }
+    }
+
+    private void endNested() {
+        if (--depth == 0) {
+            sink.put((byte) '"');
+        }
+    }
+
+    @Override
+    boolean requiresScalarKeys() {
+        return true;
+    }
+
+    @Override
+    void writeNull() {
+        if (depth > 0) {
+            embeddedJson.writeNull();
+        }
+    }
+
+    @Override
+    void writeBoolean(boolean value) {
+        if (depth > 0) {
+            embeddedJson.writeBoolean(value);
+        } else {
+            sink.putAscii(value ? "true" : "false");
+        }
+    }
+
+    @Override
+    void writeLong(long value) {
+        if (depth > 0) {
+            embeddedJson.writeLong(value);
+        } else {
+            sink.putDecimal(value);
+        }
+    }
+
+    @Override
+    void writeFloat(float value) {
+        if (depth > 0) {
+            embeddedJson.writeFloat(value);
+        } else {
+            sink.putAscii(Float.toString(value));
+        }
+    }
+
+    @Override
+    void writeDouble(double value) {
+        if (depth > 0) {
+            embeddedJson.writeDouble(value);
+        } else {
+            sink.putAscii(Double.toString(value));
+        }
+    }
+
+    @Override
+    void writeChar(char value) {
+        if (depth > 0) {
+            embeddedJson.writeChar(value);
+        } else {
+            sink.put((byte) '"');
+            writeQuotedChar(value);
+            sink.put((byte) '"');
+        }
+    }
+
+    @Override
+    void writeString(CharSequence value) {
+        if (depth > 0) {
+            embeddedJson.writeString(value);
+        } else {
+            writeQuoted(value);
+        }
+    }
+
+    @Override
+    void writeUuid(UUID value) {
+        if (depth > 0) {
+            embeddedJson.writeUuid(value);
+        } else {
+            sink.putAscii(value.toString());
+        }
+    }
+
+    private void writeQuoted(CharSequence value) {
+        sink.put((byte) '"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                sink.putUtf8CodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else {
+                writeQuotedChar(c);
+            }
+        }
+        sink.put((byte) '"');
+    }
+
+    private void writeQuotedChar(char c) {
+        if (c == '"') {
+            sink.put((byte) '"');
+        }
+        sink.putUtf8(c);
+    }
+}
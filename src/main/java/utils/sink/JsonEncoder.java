@@ -0,0 +1,256 @@
+package utils.sink;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Writes records as JSON Lines: each record is single JSON object followed by new line. Dates are written as epoch
+ * milliseconds, enums by name, non-finite numbers as null; map keys are written as strings.
+ *
+ * Encoder can also write single JSON values embedded in quoted CSV cell, in which case each quote is doubled.
+ * */
+class JsonEncoder extends RecordEncoder {
+    private static final byte OBJECT = 0;
+    private static final byte ARRAY = 1;
+    private static final byte MAP = 2;
+
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+
+    private final boolean embeddedInCsv;
+
+    /**
+     * Kinds of containers being written, and number of values written to each of them.
+     * */
+    private byte[] kinds = new byte[16];
+    private int[] counts = new int[16];
+    private int depth = -1;
+
+    /**
+     * True while writing map key, which has to be written as string.
+     * */
+    private boolean writingKey;
+
+    JsonEncoder(ByteSink sink) {
+        this(sink, false);
+    }
+
+    JsonEncoder(ByteSink sink, boolean embeddedInCsv) {
+        super(sink);
+        this.embeddedInCsv = embeddedInCsv;
+    }
+
+    @Override
+    void beginRecord() {
+        depth = -1;
+        beginObject();
+    }
+
+    @Override
+    void endRecord() {
+        endObject();
+        sink.put((byte) '\n');
+    }
+
+    @Override
+    void fieldName(String name) {
+        if (counts[depth]++ > 0) {
+            sink.put((byte) ',');
+        }
+        putQuote();
+        putEscaped(name);
+        putQuote();
+        sink.put((byte) ':');
+    }
+
+    @Override
+    boolean requiresScalarKeys() {
+        return true;
+    }
+
+    @Override
+    void beginObject() {
+        beforeValue();
+        push(OBJECT);
+        sink.put((byte) '{');
+    }
+
+    @Override
+    void endObject() {
+        depth--;
+        sink.put((byte) '}');
+    }
+
+    @Override
+    void beginArray(int size) {
+        beforeValue();
+        push(ARRAY);
+        sink.put((byte) '[');
+    }
+
+    @Override
+    void endArray() {
+        depth--;
+        sink.put((byte) ']');
+    }
+
+    @Override
+    void beginMap(int size) {
+        beforeValue();
+        push(MAP);
+        sink.put((byte) '{');
+    }
+
+    @Override
+    void endMap() {
+        depth--;
+        sink.put((byte) '}');
+    }
+
+    @Override
+    void writeNull() {
+        beforeValue();
+        if (writingKey) {
+            putQuote();
+            sink.putAscii("null");
+            putQuote();
+        } else {
+            sink.putAscii("null");
+        }
+    }
+
+    @Override
+    void writeBoolean(boolean value) {
+        beforeValue();
+        writeScalar(value ? "true" : "false");
+    }
+
+    @Override
+    void writeLong(long value) {
+        beforeValue();
+        if (writingKey) {
+            putQuote();
+            sink.putDecimal(value);
+            putQuote();
+        } else {
+            sink.putDecimal(value);
+        }
+    }
+
+    @Override
+    void writeFloat(float value) {
+        beforeValue();
+        writeScalar(Float.isFinite(value) ? Float.toString(value) : "null");
+    }
+
+    @Override
+    void writeDouble(double value) {
+        beforeValue();
+        writeScalar(Double.isFinite(value) ? Double.toString(value) : "null");
+    }
+
+    @Override
+    void writeChar(char value) {
+        beforeValue();
+        putQuote();
+        putEscaped(value);
+        putQuote();
+    }
+
+    @Override
+    void writeString(CharSequence value) {
+        beforeValue();
+        putQuote();
+        putEscaped(value);
+        putQuote();
+    }
+
+    @Override
+    void writeUuid(UUID value) {
+        beforeValue();
+        putQuote();
+        sink.putAscii(value.toString());
+        putQuote();
+    }
+
+    private void writeScalar(String ascii) {
+        if (writingKey) {
+            putQuote();
+            sink.putAscii(ascii);
+            putQuote();
+        } else {
+            sink.putAscii(ascii);
+        }
+    }
+
+    /**
+     * Writes separator before value of array or map. Values of object fields are separated by {@link #fieldName}.
+     * */
+    private void beforeValue() {
+        writingKey = false;
+        if (depth < 0) {
+            return;
+        }
+
+        byte kind = kinds[depth];
+        if (kind == ARRAY) {
+            if (counts[depth]++ > 0) {
+                sink.put((byte) ',');
+            }
+        } else if (kind == MAP) {
+            int count = counts[depth]++;
+            if (count % 2 == 0) {
+                if (count > 0) {
+                    sink.put((byte) ',');
+                }
+                writingKey = true;
+            } else {
+                sink.put((byte) ':');
+            }
+        }
+    }
+
+    private void push(byte kind) {
+        depth++;
+        if (depth == kinds.length) {
+            kinds = Arrays.copyOf(kinds, depth * 2);
+            counts = Arrays.copyOf(counts, depth * 2);
+        }
+        kinds[depth] = kind;
+        counts[depth] = 0;
+    }
+
+    private void putQuote() {
+        sink.put((byte) '"');
+        if (embeddedInCsv) {
+            sink.put((byte) '"');
+        }
+    }
+
+    private void putEscaped(CharSequence value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                sink.putUtf8CodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else {
+                putEscaped(c);
+            }
+        }
+    }
+
+    private void putEscaped(char c) {
+        if (c == '"') {
+            sink.put((byte) '\\');
+            putQuote();
+        } else if (c == '\\') {
+            sink.put((byte) '\\');
+            sink.put((byte) '\\');
+        } else if (c < 0x20) {
+            sink.putAscii("\\u00");
+            sink.put(HEX_DIGITS[c >> 4]);
+            sink.put(HEX_DIGITS[c & 0xF]);
+        } else {
+            sink.putUtf8(c);
+        }
+    }
+}
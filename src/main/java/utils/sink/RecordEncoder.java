@@ -0,0 +1,232 @@
+package utils.sink;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import utils.traverser.TypePlan;
+import utils.traverser.TypePlan.FieldPlan;
+
+/**
+ * Writes records of single {@link RecordFormat} to {@link ByteSink}. Record is root object, its fields are written
+ * one by one, each preceded by {@link #fieldName}; nested objects, arrays and maps are written between begin and end
+ * calls.
+ *
+ * {@link #writeValue} writes already existing values of any type, ie. collections created by initializers, and
+ * {@link #writeRecord} writes already existing instance as record.
+ * */
+abstract class RecordEncoder {
+    protected final ByteSink sink;
+
+    /**
+     * Objects being written by {@link #writeValue}, to stop on cycles.
+     * */
+    private final List<Object> objectsBeingWritten = new ArrayList<>();
+
+    RecordEncoder(ByteSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Writes header of stream of records of given type, if format has one.
+     * */
+    void writeHeader(TypePlan plan) {
+    }
+
+    abstract void beginRecord();
+
+    abstract void endRecord();
+
+    abstract void fieldName(String name);
+
+    abstract void beginObject();
+
+    abstract void endObject();
+
+    abstract void beginArray(int size);
+
+    abstract void endArray();
+
+    /**
+     * Map is written as sequence of keys and values, alternating.
+     * */
+    abstract void beginMap(int size);
+
+    abstract void endMap();
+
+    abstract void writeNull();
+
+    abstract void writeBoolean(boolean value);
+
+    abstract void writeLong(long value);
+
+    abstract void writeFloat(float value);
+
+    abstract void writeDouble(double value);
+
+    abstract void writeChar(char value);
+
+    abstract void writeString(CharSequence value);
+
+    abstract void writeUuid(UUID value);
+
+    /**
+     * @return true if format supports only string, number or boolean map keys.
+     * */
+    boolean requiresScalarKeys() {
+        return false;
+    }
+
+    void writeBytes(byte[] value) {
+        beginArray(value.length);
+        for (byte item : value) {
+            writeLong(item);
+        }
+        endArray();
+    }
+
+    /**
+     * Writes existing instance as record, reading its fields reflectively.
+     * */
+    final void writeRecord(Object record) {
+        objectsBeingWritten.add(record);
+        beginRecord();
+        writeFields(record);
+        endRecord();
+        objectsBeingWritten.remove(objectsBeingWritten.size() - 1);
+    }
+
+    final void writeValue(Object value) {
+        if (value == null) {
+            writeNull();
+        } else if (value instanceof String) {
+            writeString((String) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            writeBoolean((Boolean) value);
+        } else if (value instanceof Character) {
+            writeChar((Character) value);
+        } else if (value instanceof UUID) {
+            writeUuid((UUID) value);
+        } else if (value instanceof Date) {
+            writeLong(((Date) value).getTime());
+        } else if (value instanceof Enum) {
+            writeString(((Enum<?>) value).name());
+        } else if (value instanceof CharSequence || value instanceof Number) {
+            writeString(value.toString());
+        } else if (value instanceof byte[]) {
+            writeBytes((byte[]) value);
+        } else if (value.getClass().isArray()) {
+            writeArray(value);
+        } else if (value instanceof Map) {
+            writeMap((Map<?, ?>) value);
+        } else if (value instanceof Collection) {
+            writeCollection((Collection<?>) value);
+        } else if (value instanceof Iterable) {
+            List<Object> items = new ArrayList<>();
+            ((Iterable<?>) value).forEach(items::add);
+            writeCollection(items);
+        } else {
+            writeObject(value);
+        }
+    }
+
+    private void writeArray(Object array) {
+        int length = Array.getLength(array);
+        beginArray(length);
+        if (array instanceof Object[]) {
+            for (Object item : (Object[]) array) {
+                writeValue(item);
+            }
+        } else if (array instanceof int[]) {
+            for (int item : (int[]) array) {
+                writeLong(item);
+            }
+        } else if (array instanceof long[]) {
+            for (long item : (long[]) array) {
+                writeLong(item);
+            }
+        } else if (array instanceof double[]) {
+            for (double item : (double[]) array) {
+                writeDouble(item);
+            }
+        } else if (array instanceof boolean[]) {
+            for (boolean item : (boolean[]) array) {
+                writeBoolean(item);
+            }
+        } else if (array instanceof char[]) {
+            for (char item : (char[]) array) {
+                writeChar(item);
+            }
+        } else {
+            //short[], float[]
+            for (int i = 0; i < length; i++) {
+                writeValue(Array.get(array, i));
+            }
+        }
+        endArray();
+    }
+
+    private void writeCollection(Collection<?> collection) {
+        beginArray(collection.size());
+        for (Object item : collection) {
+            writeValue(item);
+        }
+        endArray();
+    }
+
+    private void writeMap(Map<?, ?> map) {
+        beginMap(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object key = entry.getKey();
+            if (requiresScalarKeys() && !isScalar(key)) {
+                writeString(String.valueOf(key));
+            } else {
+                writeValue(key);
+            }
+            writeValue(entry.getValue());
+        }
+        endMap();
+    }
+
+    private static boolean isScalar(Object value) {
+        return value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof UUID || value instanceof Date
+                || value instanceof Enum;
+    }
+
+    /**
+     * Writes object created by initializer, ie. item of collection, reading its fields reflectively. Object, which is
+     * already being written up the path, is written as null.
+     * */
+    private void writeObject(Object value) {
+        for (Object objectBeingWritten : objectsBeingWritten) {
+            if (objectBeingWritten == value) {
+                writeNull();
+                return;
+            }
+        }
+
+        objectsBeingWritten.add(value);
+        beginObject();
+        writeFields(value);
+        endObject();
+        objectsBeingWritten.remove(objectsBeingWritten.size() - 1);
+    }
+
+    private void writeFields(Object instance) {
+        for (FieldPlan field : TypePlan.of(instance.getClass()).getFields()) {
+            fieldName(field.getName());
+            writeValue(field.getAccessor().get(instance));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package utils.sink;
+
+/**
+ * Formats {@link SinkGenerator} can write records in.
+ * */
+public enum RecordFormat {
+    /**
+     * One JSON object per line.
+     * */
+    JSON_LINES {
+        @Override
+        RecordEncoder createEncoder(ByteSink sink) {
+            return new JsonEncoder(sink);
+        }
+    },
+
+    /**
+     * Header line with field names, then one line per record. Nested objects, arrays and maps are written as JSON
+     * cells.
+     * */
+    CSV {
+        @Override
+        RecordEncoder createEncoder(ByteSink sink) {
+            return new CsvEncoder(sink);
+        }
+    },
+
+    /**
+     * Length-prefixed records of tagged values, see {@link BinaryEncoder}.
+     * */
+    BINARY {
+        @Override
+        RecordEncoder createEncoder(ByteSink sink) {
+            return new BinaryEncoder(sink);
+        }
+    };
+
+    abstract RecordEncoder createEncoder(ByteSink sink);
+}
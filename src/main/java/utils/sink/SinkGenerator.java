@@ -0,0 +1,291 @@
+package utils.sink;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+import utils.Initializers;
+import utils.initializers.DefaultConstructorInitializer;
+import utils.initializers.GenerationLimits;
+import utils.initializers.Initializer;
+import utils.random.RandomSource;
+import utils.traverser.ClassTreeTraverser;
+import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.PopulatingTraverser;
+import utils.traverser.TraversalState;
+import utils.traverser.TraverserNode;
+import utils.traverser.TypePlan;
+import utils.traverser.TypePlan.FieldPlan;
+
+/**
+ * Generates records of dataset, like {@link utils.generator.Generator}, but writes them directly to channel or buffer
+ * in given {@link RecordFormat}, without creating record instances. Fields of record, and of nested objects created by
+ * {@link DefaultConstructorInitializer}, are generated and encoded one by one; values of other fields, ie.
+ * collections, are generated by their initializers and encoded right away. Objects inside such values are created
+ * and populated by {@link PopulatingTraverser}.
+ *
+ * Records are encoded the same as records generated by {@link utils.generator.Generator} with the same seed and
+ * initializers would be; nodes of objects being written know type of their owner, so cycles are detected the same way,
+ * also for objects inside collections. The only difference is {@link utils.initializers.CyclePolicy#REUSE_INSTANCE}:
+ * object, which is written up the path, has no instance to reuse, so reference to it is written as null. Cycles among
+ * created objects are written as null as well, as no format can represent them.
+ *
+ * Like {@link PopulatingTraverser}, generator prepares {@link FieldWriter} with already resolved initializer for each
+ * field of each written type on first use.
+ *
+ * Generator is thread safe; each call writes using its own encoder and buffer.
+ * */
+public class SinkGenerator {
+    /**
+     * Buffered bytes are written to channel, once there's at least this many of them.
+     * */
+    private static final int DRAIN_THRESHOLD = 64 * 1024;
+
+    private final Initializers initializers;
+    private final ClassTreeTraverser traverser;
+    private final long seed;
+
+    private final ClassValue<FieldWriter[]> fieldWriters = new ClassValue<FieldWriter[]>() {
+        @Override
+        protected FieldWriter[] computeValue(Class<?> type) {
+            return createFieldWriters(type);
+        }
+    };
+
+    public SinkGenerator(long seed) {
+        this(new Initializers(), seed);
+    }
+
+    public SinkGenerator(Initializers initializers, long seed) {
+        this.initializers = initializers;
+        this.traverser = new PopulatingTraverser(initializers);
+        this.seed = seed;
+    }
+
+    /**
+     * Writes records from..to-1 to given channel. Header, if format has one, is written only when writing from record
+     * 0, so that shards written by separate calls can be concatenated.
+     *
+     * @return number of written bytes.
+     * */
+    public long write(Class<?> type, long from, long to, RecordFormat format, WritableByteChannel channel)
+            throws IOException {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid record range: " + from + ".." + to);
+        }
+
+        FieldWriter[] writers = fieldWriters.get(type);
+        ByteSink sink = ByteSink.growable(2 * DRAIN_THRESHOLD);
+        RecordEncoder encoder = format.createEncoder(sink);
+
+        if (from == 0) {
+            encoder.writeHeader(TypePlan.of(type));
+        }
+
+        long result = 0;
+        for (long index = from; index < to; index++) {
+            writeRecord(writers, encoder, index);
+            if (sink.position() >= DRAIN_THRESHOLD) {
+                result += sink.drainTo(channel);
+            }
+        }
+        return result + sink.drainTo(channel);
+    }
+
+    /**
+     * Writes header of records of given type to given buffer, if format has one.
+     *
+     * @throws BufferOverflowException if header does not fit; buffer position is not changed then.
+     * */
+    public void writeHeader(Class<?> type, RecordFormat format, ByteBuffer target) {
+        int start = target.position();
+        try {
+            format.createEncoder(ByteSink.wrap(target)).writeHeader(TypePlan.of(type));
+        } catch (BufferOverflowException e) {
+            target.position(start);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes record with given index to given buffer. Meant for buffers provided by caller, ie. direct or mapped ones;
+     * to write many records, use {@link #write}, which reuses encoder and buffer.
+     *
+     * @throws BufferOverflowException if record does not fit; buffer position is not changed then.
+     * */
+    public void writeRecord(Class<?> type, long index, RecordFormat format, ByteBuffer target) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Record index cannot be negative: " + index);
+        }
+
+        int start = target.position();
+        try {
+            writeRecord(fieldWriters.get(type), format.createEncoder(ByteSink.wrap(target)), index);
+        } catch (BufferOverflowException e) {
+            target.position(start);
+            throw e;
+        }
+    }
+
+    private void writeRecord(FieldWriter[] writers, RecordEncoder encoder, long index) {
+        ClassTreeTraverserContext context = new ClassTreeTraverserContext(traverser,
+                RandomSource.seeded(seed, index),
+                new TraversalState(seed, index));
+
+        encoder.beginRecord();
+        writeFields(writers, encoder, context);
+        encoder.endRecord();
+    }
+
+    private static void writeFields(FieldWriter[] writers, RecordEncoder encoder, ClassTreeTraverserContext context) {
+        for (FieldWriter writer : writers) {
+            writer.write(encoder, context);
+        }
+    }
+
+    private FieldWriter[] createFieldWriters(Class<?> type) {
+        List<FieldPlan> fields = TypePlan.of(type).getFields();
+        FieldWriter[] result = new FieldWriter[fields.size()];
+        for (int i = 0; i < result.length; i++) {
+            FieldPlan field = fields.get(i);
+            Initializer initializer = initializers.getSoleInitializer(field.getType(), field.getGenericType());
+            result[i] = createFieldWriter(type, field, initializer);
+        }
+        return result;
+    }
+
+    /**
+     * Primitive values are leaves, so their initializers get the context of owning object, as in
+     * {@link PopulatingTraverser}.
+     * */
+    private FieldWriter createFieldWriter(Class<?> ownerType, FieldPlan field, Initializer initializer) {
+        String name = field.getName();
+        Class<?> type = field.getType();
+        Type genericType = field.getGenericType();
+        PlanNode node = new PlanNode(field, ownerType);
+
+        if (type.isPrimitive()) {
+            FieldWriter writer = createPrimitiveWriter(name, type, initializer);
+            if (initializers.getListener() == null) {
+                return writer;
+            }
+            return (encoder, context) -> initializers.measurePrimitiveValue(type, initializer, context,
+                    () -> writer.write(encoder, context));
+        } else if (initializer.unwrap() instanceof DefaultConstructorInitializer) {
+            return (encoder, context) -> {
+                encoder.fieldName(name);
+                writeObject(type, encoder, context.subNode(node));
+            };
+        }
+
+        return (encoder, context) -> {
+            encoder.fieldName(name);
+            ClassTreeTraverserContext fieldContext = context.subNode(node);
+            encoder.writeValue(initializers.generateValue(initializer, type, genericType, fieldContext));
+        };
+    }
+
+    private static FieldWriter createPrimitiveWriter(String name, Class<?> type, Initializer initializer) {
+        if (type == Integer.TYPE) {
+            return (encoder, context) -> {
+                encoder.fieldName(name);
+                encoder.writeLong(initializer.getInt(context));
+            };
+        } else if (type == Long.TYPE) {
+            return (encoder, context) -> {
+                encoder.fieldName(name);
+                encoder.writeLong(initializer.getLong(context));
+            };
+        } else if (type == Boolean.TYPE) {
+            return (encoder, context) -> {
+                encoder.fieldName(name);
+                encoder.writeBoolean(initializer.getBoolean(context));
+            };
+        } else if (type == Double.TYPE) {
+            return (encoder, context) -> {
+                encoder.fieldName(name);
+                encoder.writeDouble(initializer.getDouble(context));
+            };
+        } else if (type == Float.TYPE) {
+            return (encoder, context) -> {
+                encoder.fieldName(name);
+                encoder.writeFloat(initializer.getFloat(context));
+            };
+        } else if (type == Short.TYPE) {
+            return (encoder, context) -> {
+                encoder.fieldName(name);
+                encoder.writeLong(initializer.getShort(context));
+            };
+        } else if (type == Byte.TYPE) {
+            return (encoder, context) -> {
+                encoder.fieldName(name);
+                encoder.writeLong(initializer.getByte(context));
+            };
+        } else if (type == Character.TYPE) {
+            return (encoder, context) -> {
+                encoder.fieldName(name);
+                encoder.writeChar(initializer.getChar(context));
+            };
+        } else {
+            throw new IllegalArgumentException("Not a primitive type: " + type);
+        }
+    }
+
+    /**
+     * Writes object, which {@link DefaultConstructorInitializer} would create, respecting the same limits.
+     * */
+    private void writeObject(Class<?> type, RecordEncoder encoder, ClassTreeTraverserContext context) {
+        GenerationLimits limits = initializers.getLimits();
+        if (context.hasAncestorsOfType(type, limits.getMaxRecursion() + 1)
+                || context.getDepth() > limits.getMaxDepth()
+                || !context.getTraversalState().tryCreateObject(limits.getMaxObjects())) {
+            encoder.writeNull();
+            return;
+        }
+
+        encoder.beginObject();
+        writeFields(fieldWriters.get(type), encoder, context);
+        encoder.endObject();
+    }
+
+    private interface FieldWriter {
+        void write(RecordEncoder encoder, ClassTreeTraverserContext context);
+    }
+
+    /**
+     * Node of field of object being written. There's no instance, so node has no value nor owner; it knows type of
+     * owner instead, so that initializers detect cycles as if owner was created.
+     * */
+    private static final class PlanNode implements TraverserNode {
+        private final FieldPlan field;
+        private final Class<?> ownerType;
+
+        private PlanNode(FieldPlan field, Class<?> ownerType) {
+            this.field = field;
+            this.ownerType = ownerType;
+        }
+
+        @Override
+        public Object getValue() {
+            return null;
+        }
+
+        @Override
+        public Type getGenericType() {
+            return field.getGenericType();
+        }
+
+        @Override
+        public Class<?> getType() {
+            return field.getType();
+        }
+
+        @Override
+        public Class<?> getOwnerType() {
+            return ownerType;
+        }
+    }
+}
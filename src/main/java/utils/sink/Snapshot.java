@@ -0,0 +1,222 @@
+package utils.sink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import utils.initializers.CollectionFactories;
+
+/**
+ * Records saved to file, ie. generated dataset, which is expensive to generate again. Records are written in
+ * {@link RecordFormat#BINARY binary format} and read back through memory-mapped file: opening snapshot reads only its
+ * header and trailer, and each record is decoded only when asked for, so opening even large snapshot costs little
+ * more than mapping the file, and pages are loaded as records are read.
+ *
+ * Records are written and read field by field using {@link utils.traverser.TypePlan}s of their classes. Values are
+ * decoded as types they are declared as, so each object in saved graph should be of its declared type, as objects
+ * created by initializers are. Object, which refers to itself up the path, is saved with null reference instead.
+ *
+ * File consists of header (magic number, format version and name of record class), records, index of record offsets,
+ * and trailer (offset of index, number of records and magic number again).
+ *
+ * Each {@link #get} decodes new instance, so callers can modify records freely. Snapshot can be read concurrently.
+ * Snapshot file is mapped at once, so it cannot be larger than 2 GB.
+ * */
+public final class Snapshot<T> implements Closeable {
+    private static final int MAGIC = 0x49525350;
+    private static final int VERSION = 1;
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    /**
+     * Buffered bytes are written to file, once there's at least this many of them.
+     * */
+    private static final int DRAIN_THRESHOLD = 64 * 1024;
+
+    private final Class<T> type;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final BinaryDecoder decoder;
+    private final int indexPosition;
+    private final int size;
+
+    private volatile boolean closed;
+
+    private Snapshot(Class<T> type,
+                     FileChannel channel,
+                     ByteBuffer buffer,
+                     BinaryDecoder decoder,
+                     int indexPosition,
+                     int size) {
+        this.type = type;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.decoder = decoder;
+        this.indexPosition = indexPosition;
+        this.size = size;
+    }
+
+    /**
+     * Saves given records to given file, replacing it if it exists. Single object graph is saved as snapshot with
+     * one record.
+     *
+     * @return number of written bytes.
+     * */
+    public static <T> long save(Path path, Class<T> type, Iterable<? extends T> records) throws IOException {
+        ByteSink sink = ByteSink.growable(2 * DRAIN_THRESHOLD);
+        BinaryEncoder encoder = new BinaryEncoder(sink);
+        long[] offsets = new long[16];
+        int count = 0;
+        long written = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] typeName = type.getName().getBytes(StandardCharsets.UTF_8);
+            sink.putInt(MAGIC);
+            sink.putInt(VERSION);
+            sink.putInt(typeName.length);
+            sink.put(typeName);
+
+            for (T record : records) {
+                if (record == null || record.getClass() != type) {
+                    throw new IllegalArgumentException("Record has to be instance of " + type.getName() + ": " + record);
+                }
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+
+                offsets[count++] = written + sink.position();
+                encoder.writeRecord(record);
+                if (sink.position() >= DRAIN_THRESHOLD) {
+                    written += sink.drainTo(channel);
+                }
+            }
+
+            long indexPosition = written + sink.position();
+            for (int i = 0; i < count; i++) {
+                sink.putLong(offsets[i]);
+                if (sink.position() >= DRAIN_THRESHOLD) {
+                    written += sink.drainTo(channel);
+                }
+            }
+            sink.putLong(indexPosition);
+            sink.putInt(count);
+            sink.putInt(MAGIC);
+            return written + sink.drainTo(channel);
+        }
+    }
+
+    public static <T> Snapshot<T> open(Path path, Class<T> type) throws IOException {
+        return open(path, type, CollectionFactories.createDefault());
+    }
+
+    /**
+     * Maps given snapshot file. Records are not decoded until asked for.
+     *
+     * @param collectionFactories factories of collections and maps created when decoding records.
+     * */
+    public static <T> Snapshot<T> open(Path path, Class<T> type, CollectionFactories collectionFactories)
+            throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Snapshot larger than 2 GB cannot be mapped: " + path);
+            }
+            if (fileSize < 3 * Integer.BYTES + TRAILER_SIZE) {
+                throw new IllegalArgumentException("Not a snapshot: " + path);
+            }
+
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int trailerPosition = (int) fileSize - TRAILER_SIZE;
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(trailerPosition + Long.BYTES + Integer.BYTES) != MAGIC) {
+                throw new IllegalArgumentException("Not a snapshot: " + path);
+            }
+            if (buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version " + buffer.getInt(Integer.BYTES)
+                        + ": " + path);
+            }
+
+            byte[] typeName = new byte[buffer.getInt(2 * Integer.BYTES)];
+            ByteBuffer header = buffer.duplicate();
+            header.position(3 * Integer.BYTES);
+            header.get(typeName);
+            String savedTypeName = new String(typeName, StandardCharsets.UTF_8);
+            if (!savedTypeName.equals(type.getName())) {
+                throw new IllegalArgumentException("Snapshot contains records of " + savedTypeName
+                        + ", not " + type.getName() + ": " + path);
+            }
+
+            int indexPosition = (int) buffer.getLong(trailerPosition);
+            int size = buffer.getInt(trailerPosition + Long.BYTES);
+            return new Snapshot<>(type, channel, buffer, new BinaryDecoder(collectionFactories), indexPosition, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return newly decoded record with given index.
+     * */
+    public T get(int index) {
+        if (closed) {
+            throw new IllegalStateException("Snapshot is closed.");
+        }
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+
+        ByteBuffer recordBuffer = buffer.duplicate();
+        recordBuffer.position((int) buffer.getLong(indexPosition + index * Long.BYTES));
+        return decoder.readRecord(recordBuffer, type);
+    }
+
+    /**
+     * @return list view of records, decoding record on each {@link List#get}.
+     * */
+    public List<T> asList() {
+        return new RecordList();
+    }
+
+    /**
+     * @return lazy stream of records, decoding each record when consumed. Stream can be made parallel.
+     * */
+    public Stream<T> stream() {
+        return IntStream.range(0, size).mapToObj(this::get);
+    }
+
+    /**
+     * Closes snapshot file. File stays mapped until mapping is garbage collected, as Java offers no way to unmap it.
+     * */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    private final class RecordList extends AbstractList<T> implements RandomAccess {
+        @Override
+        public T get(int index) {
+            return Snapshot.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
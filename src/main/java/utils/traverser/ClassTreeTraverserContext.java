@@ -1,10 +1,10 @@
 package utils.traverser;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+
+import utils.random.RandomSource;
 
 /**
  * ClassTreeTraverserContext encapsulates traverse data over associations, can provide information about association
@@ -20,41 +20,174 @@ import java.util.stream.Stream;
  * */
 public class ClassTreeTraverserContext {
     private final ClassTreeTraverser classTreeTraverser;
+
     /**
-     * List of TraverserNode instances, from traverse root to current node.
-     *
-     * If list is empty, it means, that no node is being processed, and traverse did not start yet.
+     * Source of random values for initializers. Shared by all nodes of single traverse, unless split.
+     * */
+    private final RandomSource randomSource;
+
+    /**
+     * State of whole traverse, shared by all contexts derived from the same root context.
+     * */
+    private final TraversalState traversalState;
+
+    /**
+     * Context of node one level up the path, null for root context.
+     * */
+    private final ClassTreeTraverserContext parent;
+
+    /**
+     * Current node, null for root context, which means, that no node is being processed, and traverse did not start
+     * yet.
+     * */
+    private final TraverserNode node;
+
+    /**
+     * Number of nodes from traverse root to current node.
+     * */
+    private final int depth;
+
+    /**
+     * List of TraverserNode instances, from traverse root to current node. Built lazily from parent links, as most
+     * of the contexts are never asked for it.
      * */
     private List<TraverserNode> nodesFromRoot;
 
     //creates root, empty context
     public ClassTreeTraverserContext(ClassTreeTraverser classTreeTraverser) {
-        this(classTreeTraverser, new LinkedList<>());
+        this(classTreeTraverser, RandomSource.threadLocal());
+    }
+
+    //creates root, empty context using given random source. Use seeded source to get reproducible results.
+    public ClassTreeTraverserContext(ClassTreeTraverser classTreeTraverser, RandomSource randomSource) {
+        this(classTreeTraverser, randomSource, new TraversalState());
+    }
+
+    //creates root, empty context using given random source and traversal state, ie. one of record of dataset.
+    public ClassTreeTraverserContext(ClassTreeTraverser classTreeTraverser,
+                                     RandomSource randomSource,
+                                     TraversalState traversalState) {
+        this(classTreeTraverser, randomSource, traversalState, null, null);
     }
 
-    private ClassTreeTraverserContext(ClassTreeTraverser classTreeTraverser, List<TraverserNode> nodesFromRoot) {
+    private ClassTreeTraverserContext(ClassTreeTraverser classTreeTraverser,
+                                      RandomSource randomSource,
+                                      TraversalState traversalState,
+                                      ClassTreeTraverserContext parent,
+                                      TraverserNode node) {
         this.classTreeTraverser = classTreeTraverser;
-        this.nodesFromRoot = Collections.unmodifiableList(nodesFromRoot);
+        this.randomSource = randomSource;
+        this.traversalState = traversalState;
+        this.parent = parent;
+        this.node = node;
+        this.depth = parent == null ? 0 : parent.depth + 1;
     }
 
     public ClassTreeTraverserContext subNode(TraverserNode node) {
-        List<TraverserNode> newNodesFromRoot =
-            Stream.concat(nodesFromRoot.stream(), Stream.of(node))
-                .collect(Collectors.toList());
+        return new ClassTreeTraverserContext(classTreeTraverser, randomSource, traversalState, this, node);
+    }
 
-        return new ClassTreeTraverserContext(classTreeTraverser, newNodesFromRoot);
+    /**
+     * @return context with same path as this one, but with its own random stream split from this context's one. Use it
+     * to process subtree independently, ie. in another thread, while keeping results deterministic.
+     * */
+    public ClassTreeTraverserContext splitRandomSource() {
+        return new ClassTreeTraverserContext(classTreeTraverser, randomSource.split(), traversalState, parent, node);
+    }
+
+    /**
+     * @return context with same path as this one, but with its own random stream split from this context's one, and
+     * given traversal state, ie. one {@link TraversalState#fork forked} from this context's state. Use it to process
+     * part of subtree concurrently with other parts.
+     * */
+    public ClassTreeTraverserContext split(TraversalState traversalState) {
+        return new ClassTreeTraverserContext(classTreeTraverser, randomSource.split(), traversalState, parent, node);
+    }
+
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    public TraversalState getTraversalState() {
+        return traversalState;
+    }
+
+    /**
+     * Looks for instance of given class among owners of nodes up the path, ie. instances being processed right now.
+     *
+     * @return nearest such instance, or null if there is none.
+     * */
+    public Object findAncestorInstance(Class<?> type) {
+        for (ClassTreeTraverserContext context = this; context.node != null; context = context.parent) {
+            Object owner = context.node.getOwner();
+            if (owner != null && owner.getClass() == type) {
+                return owner;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if at least given number of nodes up the path are owned by instances of given class, ie. that many
+     * such instances are nested in each other right now. Unlike {@link #findAncestorInstance}, considers also owners
+     * known only by type.
+     * */
+    public boolean hasAncestorsOfType(Class<?> type, int count) {
+        int found = 0;
+        for (ClassTreeTraverserContext context = this; context.node != null; context = context.parent) {
+            if (context.node.getOwnerType() == type && ++found >= count) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if given instance is owner of some node up the path, ie. it is being processed right now.
+     * */
+    public boolean isAncestorInstance(Object instance) {
+        for (ClassTreeTraverserContext context = this; context.node != null; context = context.parent) {
+            if (context.node.getOwner() == instance) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public List<TraverserNode> getNodesFromRoot() {
-        return this.nodesFromRoot;
+        List<TraverserNode> result = this.nodesFromRoot;
+        if (result == null) {
+            TraverserNode[] nodes = new TraverserNode[depth];
+            for (ClassTreeTraverserContext context = this; context.node != null; context = context.parent) {
+                nodes[context.depth - 1] = context.node;
+            }
+
+            result = Collections.unmodifiableList(Arrays.asList(nodes));
+            this.nodesFromRoot = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return number of nodes from traverse root to current node. Root context has depth 0.
+     * */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return context of node one level up the path, or null if this is root context.
+     * */
+    public ClassTreeTraverserContext getParent() {
+        return parent;
     }
 
     public TraverserNode getCurrentNode() {
-        if (this.nodesFromRoot.isEmpty()) {
+        if (this.node == null) {
             throw new IllegalStateException("Cannot get current node, when there's no current node. Traverse did not start yet?");
         }
 
-        return nodesFromRoot.get(nodesFromRoot.size() - 1);
+        return node;
     }
 
     public Object processCurrentNodeInstance(Object instance) {
@@ -0,0 +1,26 @@
+package utils.traverser;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks class, for which annotation processor (module instance-reflection-util-processor) generates
+ * {@link GeneratedFieldAccess} at compile time. {@link TypePlan} of such class accesses its fields using generated code
+ * instead of creating method handles at runtime, which makes first use of the class cheaper.
+ *
+ * Only field access is generated. Plan itself is still built by reflection: fields are listed by
+ * {@link Class#getDeclaredFields()} and made accessible, and their generic types are resolved by
+ * {@link utils.TypeResolver}. Initializers are matched to fields at runtime by {@link utils.Initializers} as for any
+ * other class. So the annotation saves creating method handles, not reflection lookups nor initializer matching; see
+ * StartupBenchmark in benchmarks module for the gain on first use of class.
+ *
+ * Annotation alone changes nothing; if processor did not run, class is planned using reflection as any other class.
+ * */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface CompileTimePlan {
+}
@@ -0,0 +1,331 @@
+package utils.traverser;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Reads and writes single field using {@link MethodHandle}s created once per field. Compared to {@link Field#get}
+ * and {@link Field#set}, method handles skip access checks on each call and, after JIT warm-up, run close to direct
+ * field access. Primitive fields additionally get primitive-specialized getters and setters, so their values need not
+ * to be boxed.
+ *
+ * Fields of classes annotated by {@link CompileTimePlan} can be accessed by {@link GeneratedFieldAccess} instead,
+ * in which case no method handles are created.
+ *
+ * Calling primitive-specialized method for field of different type throws exception, there is no widening or
+ * narrowing conversion.
+ * */
+public final class FieldAccessor {
+    private static final MethodType GENERIC_GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType GENERIC_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveGetter;
+    private final MethodHandle primitiveSetter;
+
+    /**
+     * Access generated at compile time, null if method handles are used.
+     * */
+    private final GeneratedFieldAccess generatedAccess;
+    private final int generatedIndex;
+
+    /**
+     * @param field field to access. Has to be accessible already.
+     * */
+    public FieldAccessor(Field field) {
+        this.field = field;
+        this.generatedAccess = null;
+        this.generatedIndex = -1;
+        Class<?> type = field.getType();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        MethodHandle exactGetter;
+        try {
+            exactGetter = lookup.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field " + field, e);
+        }
+
+        //final fields of some classes (ie. records) cannot be written even if made accessible.
+        MethodHandle exactSetter;
+        try {
+            exactSetter = lookup.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            exactSetter = null;
+        }
+
+        getter = exactGetter.asType(GENERIC_GETTER_TYPE);
+        setter = exactSetter == null ? null : exactSetter.asType(GENERIC_SETTER_TYPE);
+
+        if (type.isPrimitive()) {
+            primitiveGetter = exactGetter.asType(MethodType.methodType(type, Object.class));
+            primitiveSetter = exactSetter == null
+                    ? null
+                    : exactSetter.asType(MethodType.methodType(void.class, Object.class, type));
+        } else {
+            primitiveGetter = null;
+            primitiveSetter = null;
+        }
+    }
+
+    /**
+     * Creates accessor using given generated access.
+     *
+     * @param generatedIndex index of given field in {@link GeneratedFieldAccess#getFieldKeys()}.
+     * */
+    FieldAccessor(Field field, GeneratedFieldAccess generatedAccess, int generatedIndex) {
+        this.field = field;
+        this.generatedAccess = generatedAccess;
+        this.generatedIndex = generatedIndex;
+        this.getter = null;
+        this.setter = null;
+        this.primitiveGetter = null;
+        this.primitiveSetter = null;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return false if field cannot be written, ie. final field of record.
+     * */
+    public boolean isWritable() {
+        return generatedAccess != null || setter != null;
+    }
+
+    public Object get(Object instance) {
+        if (generatedAccess != null) {
+            return generatedAccess.get(generatedIndex, instance);
+        }
+        try {
+            return getter.invokeExact(instance);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public void set(Object instance, Object value) {
+        if (generatedAccess != null) {
+            generatedAccess.set(generatedIndex, instance, value);
+            return;
+        }
+        try {
+            checkWritable(setter).invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public boolean getBoolean(Object instance) {
+        if (generatedAccess != null) {
+            return generatedAccess.getBoolean(generatedIndex, instance);
+        }
+        try {
+            return (boolean) checkPrimitive(primitiveGetter).invokeExact(instance);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public void setBoolean(Object instance, boolean value) {
+        if (generatedAccess != null) {
+            generatedAccess.setBoolean(generatedIndex, instance, value);
+            return;
+        }
+        try {
+            checkWritable(checkPrimitive(primitiveSetter)).invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public byte getByte(Object instance) {
+        if (generatedAccess != null) {
+            return generatedAccess.getByte(generatedIndex, instance);
+        }
+        try {
+            return (byte) checkPrimitive(primitiveGetter).invokeExact(instance);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public void setByte(Object instance, byte value) {
+        if (generatedAccess != null) {
+            generatedAccess.setByte(generatedIndex, instance, value);
+            return;
+        }
+        try {
+            checkWritable(checkPrimitive(primitiveSetter)).invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public char getChar(Object instance) {
+        if (generatedAccess != null) {
+            return generatedAccess.getChar(generatedIndex, instance);
+        }
+        try {
+            return (char) checkPrimitive(primitiveGetter).invokeExact(instance);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public void setChar(Object instance, char value) {
+        if (generatedAccess != null) {
+            generatedAccess.setChar(generatedIndex, instance, value);
+            return;
+        }
+        try {
+            checkWritable(checkPrimitive(primitiveSetter)).invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public short getShort(Object instance) {
+        if (generatedAccess != null) {
+            return generatedAccess.getShort(generatedIndex, instance);
+        }
+        try {
+            return (short) checkPrimitive(primitiveGetter).invokeExact(instance);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public void setShort(Object instance, short value) {
+        if (generatedAccess != null) {
+            generatedAccess.setShort(generatedIndex, instance, value);
+            return;
+        }
+        try {
+            checkWritable(checkPrimitive(primitiveSetter)).invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public int getInt(Object instance) {
+        if (generatedAccess != null) {
+            return generatedAccess.getInt(generatedIndex, instance);
+        }
+        try {
+            return (int) checkPrimitive(primitiveGetter).invokeExact(instance);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public void setInt(Object instance, int value) {
+        if (generatedAccess != null) {
+            generatedAccess.setInt(generatedIndex, instance, value);
+            return;
+        }
+        try {
+            checkWritable(checkPrimitive(primitiveSetter)).invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public long getLong(Object instance) {
+        if (generatedAccess != null) {
+            return generatedAccess.getLong(generatedIndex, instance);
+        }
+        try {
+            return (long) checkPrimitive(primitiveGetter).invokeExact(instance);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public void setLong(Object instance, long value) {
+        if (generatedAccess != null) {
+            generatedAccess.setLong(generatedIndex, instance, value);
+            return;
+        }
+        try {
+            checkWritable(checkPrimitive(primitiveSetter)).invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public float getFloat(Object instance) {
+        if (generatedAccess != null) {
+            return generatedAccess.getFloat(generatedIndex, instance);
+        }
+        try {
+            return (float) checkPrimitive(primitiveGetter).invokeExact(instance);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public void setFloat(Object instance, float value) {
+        if (generatedAccess != null) {
+            generatedAccess.setFloat(generatedIndex, instance, value);
+            return;
+        }
+        try {
+            checkWritable(checkPrimitive(primitiveSetter)).invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public double getDouble(Object instance) {
+        if (generatedAccess != null) {
+            return generatedAccess.getDouble(generatedIndex, instance);
+        }
+        try {
+            return (double) checkPrimitive(primitiveGetter).invokeExact(instance);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    public void setDouble(Object instance, double value) {
+        if (generatedAccess != null) {
+            generatedAccess.setDouble(generatedIndex, instance, value);
+            return;
+        }
+        try {
+            checkWritable(checkPrimitive(primitiveSetter)).invokeExact(instance, value);
+        } catch (Throwable t) {
+            throw accessFailed(t);
+        }
+    }
+
+    private MethodHandle checkPrimitive(MethodHandle methodHandle) {
+        if (primitiveGetter == null) {
+            throw new IllegalStateException("Field " + field + " is not of primitive type.");
+        }
+        return methodHandle;
+    }
+
+    private MethodHandle checkWritable(MethodHandle methodHandle) {
+        if (methodHandle == null) {
+            throw new IllegalStateException("Field " + field + " cannot be written.");
+        }
+        return methodHandle;
+    }
+
+    private RuntimeException accessFailed(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new RuntimeException(t);
+    }
+}
@@ -1,13 +1,37 @@
 package utils.traverser;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 
+import utils.metrics.GenerationListener;
+import utils.metrics.ThreadAllocation;
+import utils.traverser.TypePlan.FieldPlan;
+
 public class FieldTraverser implements ClassTreeTraverser {
     private final TraversingProcessor traversingProcessor;
+    private final TraversingVisitor traversingVisitor;
+
+    /**
+     * Listener notified about each traversed instance, null if traversing is not observed. Taken from processor, ie.
+     * from {@link utils.Initializers} of {@link InitializingTraversingProcessor}, so there's single place to register
+     * listener observing both generated values and traversed instances.
+     * */
+    private final GenerationListener listener;
 
     public FieldTraverser(TraversingProcessor traversingProcessor) {
+        this(traversingProcessor, null);
+    }
+
+    /**
+     * Creates read-only traverser, which does not allow visitor to modify traversed instances.
+     * */
+    public static FieldTraverser readOnly(TraversingVisitor traversingVisitor) {
+        return new FieldTraverser(null, traversingVisitor);
+    }
+
+    private FieldTraverser(TraversingProcessor traversingProcessor, TraversingVisitor traversingVisitor) {
         this.traversingProcessor = traversingProcessor;
+        this.traversingVisitor = traversingVisitor;
+        this.listener = traversingProcessor == null ? null : traversingProcessor.getListener();
     }
 
     @Override
@@ -31,89 +55,97 @@ public class FieldTraverser implements ClassTreeTraverser {
             throw new IllegalArgumentException();
         }
 
-        Class<?> instanceClass = startClass;
-        Class<Object> stopClazz = Object.class;
-
-        do {
-            processFieldsInCurrentClass(instance, instanceClass, context);
-            instanceClass = instanceClass.getSuperclass();
-        } while (!instanceClass.isAssignableFrom(stopClazz));
+        GenerationListener listener = this.listener;
+        if (listener == null) {
+            processFields(instance, startClass, context);
+            return instance;
+        }
 
+        boolean allocationMeasured = listener.isAllocationMeasured();
+        long startBytes = allocationMeasured ? ThreadAllocation.currentThreadAllocatedBytes() : 0;
+        long startNanos = System.nanoTime();
 
+        processFields(instance, startClass, context);
 
+        long nanos = System.nanoTime() - startNanos;
+        long allocatedBytes = allocationMeasured ? ThreadAllocation.currentThreadAllocatedBytes() - startBytes : 0;
+        listener.instanceTraversed(startClass, context, nanos, allocatedBytes);
         return instance;
     }
 
-    private <T> void processFieldsInCurrentClass(T instance,
-                                                 Class<?> instanceClass,
-                                                 ClassTreeTraverserContext context) {
-        Field[] fields = instanceClass.getDeclaredFields();
-
-        for (Field field : fields) {
-            field.setAccessible(true);
-            ModifiableFieldTraverserNode modifiableNode = new ModifiableFieldTraverserNode(field, instance);
+    private void processFields(Object instance, Class<?> startClass, ClassTreeTraverserContext context) {
+        if (traversingVisitor != null) {
+            for (FieldPlan fieldPlan : TypePlan.of(startClass).getFields()) {
+                FieldTraverserNode node = new FieldTraverserNode(fieldPlan, instance);
+                traversingVisitor.visit(node, context.subNode(node));
+            }
+        } else {
+            for (FieldPlan fieldPlan : TypePlan.of(startClass).getFields()) {
+                ModifiableFieldTraverserNode modifiableNode = new ModifiableFieldTraverserNode(fieldPlan, instance);
 
-            traversingProcessor.process(modifiableNode, context.subNode(modifiableNode.getTraverserNode()));
+                traversingProcessor.process(modifiableNode, context.subNode(modifiableNode.getTraverserNode()));
+            }
         }
     }
 
-    private static class FieldTraverserNode implements TraverserNode {
+    private static class ModifiableFieldTraverserNode implements ModifiableTraverserNode {
+        private final FieldPlan fieldPlan;
+        private final Object instance;
+        private final FieldTraverserNode traverserNode;
 
-        private final Object nodeValue;
-        private final Type genericType;
-        private final Class<?> type;
+        private ModifiableFieldTraverserNode(FieldPlan fieldPlan, Object instance) {
+            this.fieldPlan = fieldPlan;
+            this.instance = instance;
+            traverserNode = new FieldTraverserNode(fieldPlan, instance);
+        }
+
+        @Override
+        public void setValue(Object value) {
+            fieldPlan.getAccessor().set(instance, value);
+        }
 
-        public FieldTraverserNode(ModifiableFieldTraverserNode node) {
-            Field field = node.getField();
-            Object instance = node.getInstance();
+        @Override
+        public void setBoolean(boolean value) {
+            fieldPlan.getAccessor().setBoolean(instance, value);
+        }
 
-            try {
-                nodeValue = field.get(instance);
-                genericType = field.getGenericType();
-                type = field.getType();
-            } catch (Exception e) {
-                throw new RuntimeException();
-            }
+        @Override
+        public void setByte(byte value) {
+            fieldPlan.getAccessor().setByte(instance, value);
         }
 
         @Override
-        public Object getValue() {
-            return nodeValue;
+        public void setChar(char value) {
+            fieldPlan.getAccessor().setChar(instance, value);
         }
 
         @Override
-        public Type getGenericType() {
-            return genericType;
+        public void setShort(short value) {
+            fieldPlan.getAccessor().setShort(instance, value);
         }
 
         @Override
-        public Class<?> getType() {
-            return type;
+        public void setInt(int value) {
+            fieldPlan.getAccessor().setInt(instance, value);
         }
-    }
 
-    private static class ModifiableFieldTraverserNode implements ModifiableTraverserNode {
-        private final Field field;
-        private final Object instance;
-        private final FieldTraverserNode traverserNode;
+        @Override
+        public void setLong(long value) {
+            fieldPlan.getAccessor().setLong(instance, value);
+        }
 
-        private ModifiableFieldTraverserNode(Field field, Object instance) {
-            this.field = field;
-            this.instance = instance;
-            traverserNode = new FieldTraverserNode(this);
+        @Override
+        public void setFloat(float value) {
+            fieldPlan.getAccessor().setFloat(instance, value);
         }
 
         @Override
-        public void setValue(Object value) {
-            try {
-                field.set(instance, value);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+        public void setDouble(double value) {
+            fieldPlan.getAccessor().setDouble(instance, value);
         }
 
-        public Field getField() {
-            return field;
+        public FieldPlan getFieldPlan() {
+            return fieldPlan;
         }
 
         public Object getInstance() {
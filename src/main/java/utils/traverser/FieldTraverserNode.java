@@ -0,0 +1,39 @@
+package utils.traverser;
+
+import java.lang.reflect.Type;
+
+import utils.traverser.TypePlan.FieldPlan;
+
+/**
+ * Node reading field value lazily, only when asked for it.
+ * */
+class FieldTraverserNode implements TraverserNode {
+
+    private final FieldPlan fieldPlan;
+    private final Object instance;
+
+    FieldTraverserNode(FieldPlan fieldPlan, Object instance) {
+        this.fieldPlan = fieldPlan;
+        this.instance = instance;
+    }
+
+    @Override
+    public Object getValue() {
+        return fieldPlan.getAccessor().get(instance);
+    }
+
+    @Override
+    public Type getGenericType() {
+        return fieldPlan.getGenericType();
+    }
+
+    @Override
+    public Class<?> getType() {
+        return fieldPlan.getType();
+    }
+
+    @Override
+    public Object getOwner() {
+        return instance;
+    }
+}
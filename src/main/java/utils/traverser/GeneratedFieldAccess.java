@@ -0,0 +1,95 @@
+package utils.traverser;
+
+/**
+ * Field access generated at compile time for class annotated by {@link CompileTimePlan}. Generated class is named
+ * after binary name of planned class with {@value #CLASS_NAME_SUFFIX} suffix, lives in the same package and has public
+ * no-arg constructor.
+ *
+ * Generated code reads and writes fields directly, so it can handle only fields visible from planned class's package,
+ * which are not final; remaining fields are accessed using method handles as usual. Fields are addressed by their
+ * index in {@link #getFieldKeys()}. Methods not generated for any field throw {@link IllegalStateException}.
+ * */
+public interface GeneratedFieldAccess {
+    String CLASS_NAME_SUFFIX = "$$FieldAccess";
+
+    /**
+     * @return keys of handled fields, in form {@code <binary name of declaring class>#<field name>}.
+     * */
+    String[] getFieldKeys();
+
+    static String getFieldKey(Class<?> declaringClass, String fieldName) {
+        return declaringClass.getName() + '#' + fieldName;
+    }
+
+    Object get(int field, Object instance);
+
+    void set(int field, Object instance, Object value);
+
+    default boolean getBoolean(int field, Object instance) {
+        throw notGenerated(field);
+    }
+
+    default void setBoolean(int field, Object instance, boolean value) {
+        throw notGenerated(field);
+    }
+
+    default byte getByte(int field, Object instance) {
+        throw notGenerated(field);
+    }
+
+    default void setByte(int field, Object instance, byte value) {
+        throw notGenerated(field);
+    }
+
+    default char getChar(int field, Object instance) {
+        throw notGenerated(field);
+    }
+
+    default void setChar(int field, Object instance, char value) {
+        throw notGenerated(field);
+    }
+
+    default short getShort(int field, Object instance) {
+        throw notGenerated(field);
+    }
+
+    default void setShort(int field, Object instance, short value) {
+        throw notGenerated(field);
+    }
+
+    default int getInt(int field, Object instance) {
+        throw notGenerated(field);
+    }
+
+    default void setInt(int field, Object instance, int value) {
+        throw notGenerated(field);
+    }
+
+    default long getLong(int field, Object instance) {
+        throw notGenerated(field);
+    }
+
+    default void setLong(int field, Object instance, long value) {
+        throw notGenerated(field);
+    }
+
+    default float getFloat(int field, Object instance) {
+        throw notGenerated(field);
+    }
+
+    default void setFloat(int field, Object instance, float value) {
+        throw notGenerated(field);
+    }
+
+    default double getDouble(int field, Object instance) {
+        throw notGenerated(field);
+    }
+
+    default void setDouble(int field, Object instance, double value) {
+        throw notGenerated(field);
+    }
+
+    static IllegalStateException notGenerated(int field) {
+        return new IllegalStateException("No generated access of requested type for field " + field);
+    }
+}
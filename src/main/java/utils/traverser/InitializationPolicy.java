@@ -0,0 +1,24 @@
+package utils.traverser;
+
+/**
+ * Decides which values are set by initializing traversers.
+ * */
+public enum InitializationPolicy {
+    /**
+     * Only null values are initialized, non-null values are kept as they are. Primitive fields cannot be null, thus
+     * they are never initialized.
+     * */
+    ONLY_NULLS,
+
+    /**
+     * All values are replaced by newly generated ones.
+     * */
+    ALL_VALUES,
+
+    /**
+     * All values are regenerated, but existing instances are reused where possible: nested objects are refilled in
+     * place, as well as arrays and collections, only leaf values are overwritten. Null values are initialized as
+     * usual. Allows to generate new variant of large graph with almost no allocation.
+     * */
+    REFILL
+}
@@ -1,20 +1,61 @@
 package utils.traverser;
 
 import utils.Initializers;
+import utils.metrics.GenerationListener;
 
 public class InitializingTraversingProcessor implements TraversingProcessor {
-    private final Initializers initializers = new Initializers();
+    private final Initializers initializers;
+    private final InitializationPolicy policy;
 
+    public InitializingTraversingProcessor() {
+        this(new Initializers());
+    }
+
+    public InitializingTraversingProcessor(Initializers initializers) {
+        this(initializers, InitializationPolicy.ALL_VALUES);
+    }
+
+    public InitializingTraversingProcessor(Initializers initializers, InitializationPolicy policy) {
+        this.initializers = initializers;
+        this.policy = policy;
+    }
 
     @Override
     public void process(ModifiableTraverserNode modifiableNode, ClassTreeTraverserContext context) {
         TraverserNode node = context.getCurrentNode();
 
-        //TODO MM: decision whether to set primitive values, or all values or only null values
-//            if (node.getValue() == null) {
-        Object newValue = initializers.generateValue(node.getType(), node.getGenericType(), context);
+        if (node.getType().isPrimitive()) {
+            if (policy != InitializationPolicy.ONLY_NULLS) {
+                initializers.generatePrimitiveValue(node.getType(), modifiableNode, context);
+            }
+            return;
+        }
+
+        switch (policy) {
+            case ONLY_NULLS:
+                if (node.getValue() == null) {
+                    modifiableNode.setValue(initializers.generateValue(node.getType(), node.getGenericType(), context));
+                }
+                break;
+            case REFILL:
+                Object existingValue = node.getValue();
+                Object refilledValue =
+                        initializers.refillValue(existingValue, node.getType(), node.getGenericType(), context);
+                if (refilledValue != existingValue) {
+                    modifiableNode.setValue(refilledValue);
+                }
+                break;
+            default:
+                modifiableNode.setValue(initializers.generateValue(node.getType(), node.getGenericType(), context));
+        }
+    }
 
-        modifiableNode.setValue(newValue);
-//            }
+    /**
+     * @return listener given to initializers, so that one listener observes both generated values and traversed
+     * instances.
+     * */
+    @Override
+    public GenerationListener getListener() {
+        return initializers.getListener();
     }
 }
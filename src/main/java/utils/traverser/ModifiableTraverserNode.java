@@ -2,4 +2,38 @@ package utils.traverser;
 
 public interface ModifiableTraverserNode extends TraverserNode {
     void setValue(Object value);
+
+    //primitive-specialized setters. Implementations backed by primitive fields should override them to avoid boxing.
+
+    default void setBoolean(boolean value) {
+        setValue(value);
+    }
+
+    default void setByte(byte value) {
+        setValue(value);
+    }
+
+    default void setChar(char value) {
+        setValue(value);
+    }
+
+    default void setShort(short value) {
+        setValue(value);
+    }
+
+    default void setInt(int value) {
+        setValue(value);
+    }
+
+    default void setLong(long value) {
+        setValue(value);
+    }
+
+    default void setFloat(float value) {
+        setValue(value);
+    }
+
+    default void setDouble(double value) {
+        setValue(value);
+    }
 }
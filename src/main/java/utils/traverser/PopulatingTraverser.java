@@ -0,0 +1,218 @@
+package utils.traverser;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import utils.Initializers;
+import utils.initializers.Initializer;
+import utils.metrics.GenerationListener;
+import utils.metrics.ThreadAllocation;
+import utils.traverser.TypePlan.FieldPlan;
+
+/**
+ * Initializing traverser, which prepares specialized {@link Populator} for each traversed type on first use. Populator
+ * knows accessor and already resolved {@link Initializer} of each field, so populating instance does not need to go
+ * through {@link TraversingProcessor} nor look up initializers again; it just asks initializer for value and writes
+ * it to the field. Values of primitive fields are neither boxed, nor is context created for them.
+ *
+ * Types, for which populator cannot be prepared (some field has no initializer, or cannot be written), are processed
+ * by reflective {@link FieldTraverser} with {@link InitializingTraversingProcessor}, sharing the same initializers.
+ *
+ * Traversed instances, as well as generated values, are reported to listener given to {@link Initializers}.
+ *
+ * Populators are not generated classes; code supported by this project (Java 8, no bytecode library) cannot define
+ * hidden classes, and generated classes could not write private fields anyway.
+ * */
+public class PopulatingTraverser implements ClassTreeTraverser {
+    private final Initializers initializers;
+    private final InitializationPolicy policy;
+    private final FieldTraverser fallbackTraverser;
+
+    /**
+     * Populators per type, null for types, which have to be processed by fallback traverser.
+     * */
+    private final ClassValue<Populator> populators = new ClassValue<Populator>() {
+        @Override
+        protected Populator computeValue(Class<?> type) {
+            return createPopulator(type);
+        }
+    };
+
+    public PopulatingTraverser() {
+        this(new Initializers());
+    }
+
+    public PopulatingTraverser(Initializers initializers) {
+        this(initializers, InitializationPolicy.ALL_VALUES);
+    }
+
+    public PopulatingTraverser(Initializers initializers, InitializationPolicy policy) {
+        this.initializers = initializers;
+        this.policy = policy;
+        this.fallbackTraverser = new FieldTraverser(new InitializingTraversingProcessor(initializers, policy));
+    }
+
+    @Override
+    public <T> T process(T instance) {
+        return process(instance, instance.getClass());
+    }
+
+    @Override
+    public <T> T process(T instance, ClassTreeTraverserContext context) {
+        return process(instance, instance.getClass(), context);
+    }
+
+    @Override
+    public <T> T process(T instance, Class<?> startClass) {
+        return process(instance, startClass, new ClassTreeTraverserContext(this));
+    }
+
+    @Override
+    public <T> T process(T instance, Class<?> startClass, ClassTreeTraverserContext context) {
+        if (!startClass.isAssignableFrom(instance.getClass())) {
+            throw new IllegalArgumentException();
+        }
+
+        GenerationListener listener = initializers.getListener();
+        if (listener == null) {
+            populate(instance, startClass, context);
+            return instance;
+        }
+
+        boolean allocationMeasured = listener.isAllocationMeasured();
+        long startBytes = allocationMeasured ? ThreadAllocation.currentThreadAllocatedBytes() : 0;
+        long startNanos = System.nanoTime();
+
+        populate(instance, startClass, context);
+
+        long nanos = System.nanoTime() - startNanos;
+        long allocatedBytes = allocationMeasured ? ThreadAllocation.currentThreadAllocatedBytes() - startBytes : 0;
+        listener.instanceTraversed(startClass, context, nanos, allocatedBytes);
+        return instance;
+    }
+
+    private void populate(Object instance, Class<?> startClass, ClassTreeTraverserContext context) {
+        Populator populator = populators.get(startClass);
+        if (populator == null) {
+            fallbackTraverser.process(instance, startClass, context);
+        } else {
+            populator.populate(instance, context);
+        }
+    }
+
+    private Populator createPopulator(Class<?> type) {
+        List<FieldPlan> fields = TypePlan.of(type).getFields();
+        FieldPopulator[] fieldPopulators = new FieldPopulator[fields.size()];
+
+        for (int i = 0; i < fieldPopulators.length; i++) {
+            FieldPlan field = fields.get(i);
+            if (!field.getAccessor().isWritable()) {
+                return null;
+            }
+
+            try {
+                Initializer initializer = initializers.getSoleInitializer(field.getType(), field.getGenericType());
+                fieldPopulators[i] = createFieldPopulator(field, initializer);
+            } catch (IllegalStateException e) {
+                return null;
+            }
+        }
+
+        return new Populator(fieldPopulators);
+    }
+
+    /**
+     * Primitive fields get populators using primitive-specialized initializer and accessor methods. As primitive values
+     * are leaves, their initializers get the context of owning instance, so populating primitive field allocates
+     * nothing, unless listener is registered.
+     * */
+    private FieldPopulator createFieldPopulator(FieldPlan field, Initializer initializer) {
+        FieldAccessor accessor = field.getAccessor();
+        Class<?> type = field.getType();
+
+        if (type.isPrimitive()) {
+            if (policy == InitializationPolicy.ONLY_NULLS) {
+                return (instance, context) -> { };
+            }
+
+            FieldPopulator populator = createPrimitivePopulator(accessor, type, initializer);
+            if (initializers.getListener() == null) {
+                return populator;
+            }
+            return (instance, context) -> initializers.measurePrimitiveValue(type, initializer, context,
+                    () -> populator.populate(instance, context));
+        }
+
+        Type genericType = field.getGenericType();
+        switch (policy) {
+            case ONLY_NULLS:
+                return (instance, context) -> {
+                    if (accessor.get(instance) == null) {
+                        ClassTreeTraverserContext fieldContext = context.subNode(new FieldTraverserNode(field, instance));
+                        accessor.set(instance, initializers.generateValue(initializer, type, genericType, fieldContext));
+                    }
+                };
+            case REFILL:
+                return (instance, context) -> {
+                    Object existingValue = accessor.get(instance);
+                    ClassTreeTraverserContext fieldContext = context.subNode(new FieldTraverserNode(field, instance));
+                    Object refilledValue = existingValue == null
+                            ? initializers.generateValue(initializer, type, genericType, fieldContext)
+                            : initializer.refillValue(existingValue, type, genericType, fieldContext);
+                    if (refilledValue != existingValue) {
+                        accessor.set(instance, refilledValue);
+                    }
+                };
+            default:
+                return (instance, context) -> {
+                    ClassTreeTraverserContext fieldContext = context.subNode(new FieldTraverserNode(field, instance));
+                    accessor.set(instance, initializers.generateValue(initializer, type, genericType, fieldContext));
+                };
+        }
+    }
+
+    private static FieldPopulator createPrimitivePopulator(FieldAccessor accessor,
+                                                           Class<?> type,
+                                                           Initializer initializer) {
+        if (type == Integer.TYPE) {
+            return (instance, context) -> accessor.setInt(instance, initializer.getInt(context));
+        } else if (type == Long.TYPE) {
+            return (instance, context) -> accessor.setLong(instance, initializer.getLong(context));
+        } else if (type == Boolean.TYPE) {
+            return (instance, context) -> accessor.setBoolean(instance, initializer.getBoolean(context));
+        } else if (type == Double.TYPE) {
+            return (instance, context) -> accessor.setDouble(instance, initializer.getDouble(context));
+        } else if (type == Float.TYPE) {
+            return (instance, context) -> accessor.setFloat(instance, initializer.getFloat(context));
+        } else if (type == Short.TYPE) {
+            return (instance, context) -> accessor.setShort(instance, initializer.getShort(context));
+        } else if (type == Byte.TYPE) {
+            return (instance, context) -> accessor.setByte(instance, initializer.getByte(context));
+        } else if (type == Character.TYPE) {
+            return (instance, context) -> accessor.setChar(instance, initializer.getChar(context));
+        } else {
+            throw new IllegalArgumentException("Not a primitive type: " + type);
+        }
+    }
+
+    private interface FieldPopulator {
+        void populate(Object instance, ClassTreeTraverserContext context);
+    }
+
+    /**
+     * Populates all fields of single type.
+     * */
+    private static final class Populator {
+        private final FieldPopulator[] fieldPopulators;
+
+        private Populator(FieldPopulator[] fieldPopulators) {
+            this.fieldPopulators = fieldPopulators;
+        }
+
+        private void populate(Object instance, ClassTreeTraverserContext context) {
+            for (FieldPopulator fieldPopulator : fieldPopulators) {
+                fieldPopulator.populate(instance, context);
+            }
+        }
+    }
+}
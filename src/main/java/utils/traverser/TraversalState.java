@@ -0,0 +1,126 @@
+package utils.traverser;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mutable state of single traverse, shared by all contexts derived from the same root context. Unlike context itself,
+ * it is not tied to single node, so it can carry counters over whole generated graph.
+ *
+ * When traverse generates record of dataset (see {@link utils.generator.Generator}), state knows seed of dataset and
+ * index of record. Together with sequence of values generated within the record, they identify each generated value
+ * uniquely within dataset, no matter which thread or process generated it; initializers use them to generate values,
+ * which must not collide.
+ *
+ * Not thread safe, with exception of object counting. Parts of traverse processed concurrently have to use their own
+ * {@link #fork forked} states.
+ * */
+public final class TraversalState {
+    private static final long NO_RECORD_INDEX = -1;
+
+    /**
+     * Sequence numbers are kept below 2^62, as unique UUIDs can hold only 62 bits of sequence.
+     * */
+    private static final long SEQUENCE_LIMIT = 1L << 62;
+
+    private final long seed;
+    private final long recordIndex;
+
+    /**
+     * Number of created objects, shared with forked states.
+     * */
+    private final AtomicLong createdObjects;
+
+    private long sequence;
+    private long sequenceLimit;
+
+    /**
+     * Creates state of traverse, which is not part of any dataset.
+     * */
+    public TraversalState() {
+        this(0, NO_RECORD_INDEX, new AtomicLong(), 0, SEQUENCE_LIMIT);
+    }
+
+    /**
+     * Creates state of traverse generating record with given index of dataset generated from given seed.
+     * */
+    public TraversalState(long seed, long recordIndex) {
+        this(seed, recordIndex, new AtomicLong(), 0, SEQUENCE_LIMIT);
+        if (recordIndex < 0) {
+            throw new IllegalArgumentException("Record index cannot be negative: " + recordIndex);
+        }
+    }
+
+    private TraversalState(long seed, long recordIndex, AtomicLong createdObjects, long sequence, long sequenceLimit) {
+        this.seed = seed;
+        this.recordIndex = recordIndex;
+        this.createdObjects = createdObjects;
+        this.sequence = sequence;
+        this.sequenceLimit = sequenceLimit;
+    }
+
+    /**
+     * Creates states for given number of parts of traverse, which are to be processed concurrently. Remaining sequence
+     * numbers are divided into disjoint ranges, one for each forked state and one kept by this state, so values stay
+     * unique and do not depend on order, in which parts are processed. Forked states share object count with this one.
+     * */
+    public TraversalState[] fork(int count) {
+        long rangeSize = (sequenceLimit - sequence) / (count + 1);
+        if (rangeSize == 0) {
+            throw new IllegalStateException("Cannot fork traversal state into " + count + " parts, sequence exhausted.");
+        }
+
+        TraversalState[] result = new TraversalState[count];
+        for (int i = 0; i < count; i++) {
+            long start = sequence + i * rangeSize;
+            result[i] = new TraversalState(seed, recordIndex, createdObjects, start, start + rangeSize);
+        }
+        sequence += count * rangeSize;
+        return result;
+    }
+
+    /**
+     * Counts creation of one object, if limit allows it. Can be called concurrently by forked states.
+     *
+     * @return false if given number of objects was already created in this traverse.
+     * */
+    public boolean tryCreateObject(long maxObjects) {
+        while (true) {
+            long created = createdObjects.get();
+            if (created >= maxObjects) {
+                return false;
+            }
+            if (createdObjects.compareAndSet(created, created + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public long getCreatedObjects() {
+        return createdObjects.get();
+    }
+
+    /**
+     * @return true if this traverse generates record of dataset, and thus has seed and record index.
+     * */
+    public boolean hasRecordIndex() {
+        return recordIndex != NO_RECORD_INDEX;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getRecordIndex() {
+        return recordIndex;
+    }
+
+    /**
+     * @return next number of sequence of unique values within this traverse, starting with 0.
+     * */
+    public long nextSequence() {
+        if (sequence == sequenceLimit) {
+            throw new IllegalStateException("Sequence of unique values exhausted.");
+        }
+        return sequence++;
+    }
+}
@@ -9,4 +9,20 @@ public interface TraverserNode {
     Type getGenericType();
 
     Class<?> getType();
+
+    /**
+     * @return instance, which holds this node, ie. instance whose field this node represents. Null if unknown.
+     * */
+    default Object getOwner() {
+        return null;
+    }
+
+    /**
+     * @return class of instance, which holds this node. Can be known even if the instance is not, ie. when value is
+     * generated for object, which is written without being created. Null if unknown.
+     * */
+    default Class<?> getOwnerType() {
+        Object owner = getOwner();
+        return owner == null ? null : owner.getClass();
+    }
 }
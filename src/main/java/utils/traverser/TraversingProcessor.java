@@ -1,5 +1,14 @@
 package utils.traverser;
 
+import utils.metrics.GenerationListener;
+
 public interface TraversingProcessor {
     void process(ModifiableTraverserNode modifiableTraverserNode, ClassTreeTraverserContext context);
+
+    /**
+     * @return listener notified about instances traversed using this processor, null if traversing is not observed.
+     * */
+    default GenerationListener getListener() {
+        return null;
+    }
 }
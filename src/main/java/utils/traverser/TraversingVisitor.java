@@ -0,0 +1,12 @@
+package utils.traverser;
+
+/**
+ * Read-only counterpart of {@link TraversingProcessor}, for traversals which only inspect data. Nodes passed to
+ * visitor cannot be modified, and their values are read only when asked for.
+ *
+ * As with processor, traverser does not delve into associations automatically, visitor can ask for it using
+ * {@link ClassTreeTraverserContext#processCurrentNodeInstance}.
+ * */
+public interface TraversingVisitor {
+    void visit(TraverserNode node, ClassTreeTraverserContext context);
+}
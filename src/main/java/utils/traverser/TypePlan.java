@@ -0,0 +1,153 @@
+package utils.traverser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import utils.GenericTypeUtil;
+import utils.TypeResolver;
+
+/**
+ * Immutable description of instance fields of given class, from that class up to (excluding) {@link Object}. Fields of
+ * given class come first, followed by fields of its superclass and so on. Static and synthetic fields are omitted.
+ *
+ * Plans are computed once per class and cached using {@link ClassValue}, so they do not prevent class unloading. All
+ * fields in plan are already made accessible, their generic types are resolved and they have {@link FieldAccessor}
+ * prepared, so traversing instances of planned class does not need to call any reflection lookups.
+ *
+ * Generic types of fields are resolved against planned class using {@link TypeResolver}, so field {@code T value}
+ * declared by {@code Base<T>} has type {@code Bar} in plan of {@code class Foo extends Base<Bar>}.
+ *
+ * Classes annotated by {@link CompileTimePlan} and processed by annotation processor access fields handled by
+ * {@link GeneratedFieldAccess} using generated code; only remaining fields get method handles. Classes, which were not
+ * processed, fall back to method handles silently. Fields, their order and generic types are found by reflection for
+ * all classes, annotated or not; generated code only replaces method handles.
+ * */
+public final class TypePlan {
+    private static final ClassValue<TypePlan> PLANS = new ClassValue<TypePlan>() {
+        @Override
+        protected TypePlan computeValue(Class<?> type) {
+            return new TypePlan(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final List<FieldPlan> fields;
+
+    private TypePlan(Class<?> type) {
+        this.type = type;
+        this.fields = Collections.unmodifiableList(createFieldPlans(type));
+    }
+
+    public static TypePlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    private static List<FieldPlan> createFieldPlans(Class<?> type) {
+        GeneratedFieldAccess generatedAccess = findGeneratedAccess(type);
+        Map<String, Integer> generatedIndexes = new HashMap<>();
+        if (generatedAccess != null) {
+            String[] fieldKeys = generatedAccess.getFieldKeys();
+            for (int i = 0; i < fieldKeys.length; i++) {
+                generatedIndexes.put(fieldKeys[i], i);
+            }
+        }
+
+        List<FieldPlan> result = new ArrayList<>();
+        for (Class<?> current = type;
+             current != null && current != Object.class;
+             current = current.getSuperclass()) {
+
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+
+                field.setAccessible(true);
+                Integer generatedIndex = generatedIndexes.get(GeneratedFieldAccess.getFieldKey(current, field.getName()));
+                FieldAccessor accessor = generatedIndex == null
+                        ? new FieldAccessor(field)
+                        : new FieldAccessor(field, generatedAccess, generatedIndex);
+                result.add(new FieldPlan(field, TypeResolver.resolve(type, field.getGenericType()), accessor));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return access generated for given class by annotation processor, or null if there's none.
+     * */
+    private static GeneratedFieldAccess findGeneratedAccess(Class<?> type) {
+        if (!type.isAnnotationPresent(CompileTimePlan.class)) {
+            return null;
+        }
+
+        String className = type.getName() + GeneratedFieldAccess.CLASS_NAME_SUFFIX;
+        try {
+            Class<?> generatedClass = Class.forName(className, true, type.getClassLoader());
+            return (GeneratedFieldAccess) generatedClass.getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            //annotation processor did not run.
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Cannot create generated field access " + className, e);
+        }
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public List<FieldPlan> getFields() {
+        return fields;
+    }
+
+    /**
+     * Single field of {@link TypePlan}.
+     * */
+    public static final class FieldPlan {
+        private final Field field;
+        private final Type genericType;
+        private final Class<?> type;
+        private final FieldAccessor accessor;
+
+        private FieldPlan(Field field, Type genericType, FieldAccessor accessor) {
+            this.field = field;
+            this.genericType = genericType;
+            this.type = field.getType().isPrimitive() ? field.getType() : GenericTypeUtil.getClassType(genericType);
+            this.accessor = accessor;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public String getName() {
+            return field.getName();
+        }
+
+        /**
+         * @return generic type of field resolved against planned class.
+         * */
+        public Type getGenericType() {
+            return genericType;
+        }
+
+        /**
+         * @return class of {@link #getGenericType() resolved type}, which can be more specific than declared type of
+         * field.
+         * */
+        public Class<?> getType() {
+            return type;
+        }
+
+        public FieldAccessor getAccessor() {
+            return accessor;
+        }
+    }
+}
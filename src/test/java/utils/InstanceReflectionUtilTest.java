@@ -1,28 +1,72 @@
 package utils;
 
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.management.ObjectName;
 
 import org.hamcrest.CoreMatchers;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import utils.initializers.Alphabet;
+import utils.initializers.ArrayInitializer;
+import utils.initializers.CollectionFactories;
+import utils.initializers.CyclePolicy;
+import utils.initializers.DefaultConstructorInitializer;
+import utils.initializers.GenerationLimits;
+import utils.initializers.Initializer;
+import utils.initializers.IntInitializer;
+import utils.initializers.LengthDistribution;
+import utils.initializers.ListInitializer;
+import utils.initializers.MapInitializer;
+import utils.initializers.ParallelFill;
+import utils.initializers.SetInitializer;
+import utils.initializers.StringInitializer;
+import utils.initializers.UuidInitializer;
+import utils.initializers.UuidMode;
+import utils.metrics.GenerationMetrics;
+import utils.metrics.MetricsSnapshot;
+import utils.random.RandomSource;
+import utils.sink.RecordFormat;
+import utils.sink.SinkGenerator;
+import utils.traverser.ClassTreeTraverserContext;
+import utils.traverser.FieldAccessor;
 import utils.traverser.FieldTraverser;
+import utils.traverser.InitializationPolicy;
 import utils.traverser.InitializingTraversingProcessor;
+import utils.traverser.PopulatingTraverser;
+import utils.traverser.TraversalState;
+import utils.traverser.TraverserNode;
+import utils.traverser.TypePlan;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @SuppressWarnings({"Duplicates", "WeakerAccess", "unused"})
 public class InstanceReflectionUtilTest {
@@ -291,8 +335,613 @@ public class InstanceReflectionUtilTest {
 
         }
     }
+
+    @Test
+    public void testStaticFieldsAreNotInitialized()  {
+        ClassWithStaticField.staticField = null;
+
+        ClassWithStaticField actual = traverser.process(new ClassWithStaticField());
+
+        assertThat(actual.i, notNullValue());
+        assertThat(ClassWithStaticField.staticField, nullValue());
+    }
+
+    @Test
+    public void testTypePlanIsCachedAndOrderedFromStartClass()  {
+        TypePlan plan = TypePlan.of(B.class);
+
+        assertThat(TypePlan.of(B.class), sameInstance(plan));
+        assertThat(plan.getFields().size(), is(2));
+        assertThat(plan.getFields().get(0).getName(), is("ii"));
+        assertThat(plan.getFields().get(1).getName(), is("i"));
+    }
+
+    @Test
+    public void testFieldAccessorPrimitiveAccess() throws Exception {
+        FieldAccessor accessor = new FieldAccessor(TypePlan.of(ClassWithPrimitives.class).getFields().get(0).getField());
+        ClassWithPrimitives instance = new ClassWithPrimitives();
+
+        accessor.setInt(instance, 42);
+
+        assertThat(instance.primitiveInt, is(42));
+        assertThat(accessor.getInt(instance), is(42));
+        assertThat(accessor.get(instance), is((Object) 42));
+    }
+
+    @Test
+    public void testInitializingPrimitiveFields()  {
+        ClassWithPrimitives actual = traverser.process(new ClassWithPrimitives());
+
+        assertThat(actual.primitiveLong, not(0L));
+        assertThat(actual.primitiveDouble, not(0D));
+        assertThat(actual.boxedLong, notNullValue());
+        assertThat(actual.boxedDouble, notNullValue());
+    }
+
+    @Test
+    public void testPopulatingPrimitiveFieldsMatchesReflectiveTraversal()  {
+        PopulatingTraverser populatingTraverser = new PopulatingTraverser();
+        ClassWithPrimitives reflective = traverser.process(new ClassWithPrimitives(),
+                new ClassTreeTraverserContext(traverser, RandomSource.seeded(1)));
+        ClassWithPrimitives populated = populatingTraverser.process(new ClassWithPrimitives(),
+                new ClassTreeTraverserContext(populatingTraverser, RandomSource.seeded(1)));
+
+        assertThat(populated.primitiveInt, is(reflective.primitiveInt));
+        assertThat(populated.primitiveLong, is(reflective.primitiveLong));
+        assertThat(populated.primitiveChar, is(reflective.primitiveChar));
+        assertThat(populated.primitiveFloat, is(reflective.primitiveFloat));
+        assertThat(populated.boxedDouble, is(reflective.boxedDouble));
+    }
+
+    @Test
+    public void testInitializerDispatch()  {
+        Initializers initializers = new Initializers();
+
+        assertThat(initializers.getSoleInitializer(Integer.class, Integer.class), instanceOf(IntInitializer.class));
+        assertThat(initializers.getSoleInitializer(Integer.TYPE, Integer.TYPE), instanceOf(IntInitializer.class));
+        assertThat(initializers.getSoleInitializer(A.class, A.class),
+                instanceOf(DefaultConstructorInitializer.class));
+    }
+
+    @Test
+    public void testUnknownInitializerIsReportedRepeatedly()  {
+        Initializers initializers = new Initializers();
+        for (int i = 0; i < 2; i++) {
+            try {
+                initializers.getSoleInitializer(Runnable.class, Runnable.class);
+                fail();
+            } catch (IllegalStateException e) {
+                assertThat(e.getMessage(), is("Unknown initializer for type: java.lang.Runnable"));
+            }
+        }
+    }
+
+    @Test
+    public void testContextPath()  {
+        TraverserNode first = new StubTraverserNode();
+        TraverserNode second = new StubTraverserNode();
+        ClassTreeTraverserContext root = new ClassTreeTraverserContext(traverser);
+        ClassTreeTraverserContext firstContext = root.subNode(first);
+        ClassTreeTraverserContext secondContext = firstContext.subNode(second);
+
+        assertThat(root.getDepth(), is(0));
+        assertThat(root.getParent(), nullValue());
+        assertThat(root.getNodesFromRoot().isEmpty(), is(true));
+
+        assertThat(secondContext.getDepth(), is(2));
+        assertThat(secondContext.getParent(), sameInstance(firstContext));
+        assertThat(secondContext.getCurrentNode(), sameInstance(second));
+        assertEquals(Arrays.asList(first, second), secondContext.getNodesFromRoot());
+        assertEquals(Collections.singletonList(first), firstContext.getNodesFromRoot());
+    }
+
+    @Test
+    public void testReadOnlyTraversal()  {
+        B instance = new B();
+        instance.i = 1;
+        instance.ii = 2;
+        List<Object> visitedValues = new ArrayList<>();
+
+        FieldTraverser.readOnly((node, context) -> visitedValues.add(node.getValue())).process(instance);
+
+        assertEquals(Arrays.asList(2, 1), visitedValues);
+    }
+
+    @Test
+    public void testSeededRandomSourceIsReproducible()  {
+        ClassWithList first = traverser.process(new ClassWithList(),
+                new ClassTreeTraverserContext(traverser, RandomSource.seeded(42)));
+        ClassWithList second = traverser.process(new ClassWithList(),
+                new ClassTreeTraverserContext(traverser, RandomSource.seeded(42)));
+
+        assertThat(second.list.size(), is(first.list.size()));
+        for (int i = 0; i < first.list.size(); i++) {
+            assertThat(second.list.get(i).i, is(first.list.get(i).i));
+            assertThat(second.list.get(i).ii, is(first.list.get(i).ii));
+        }
+    }
+
+    @Test
+    public void testPopulatingTraverser()  {
+        PopulatingTraverser populatingTraverser = new PopulatingTraverser();
+
+        B processed = populatingTraverser.process(new B(), A.class);
+        assertThat(processed.i, notNullValue());
+        assertThat(processed.ii, nullValue());
+
+        ClassWithListsOfLists actual = populatingTraverser.process(new ClassWithListsOfLists());
+        assertThat(actual.listOfLists.isEmpty(), is(false));
+        for (List<A> list : actual.listOfLists) {
+            assertThat(list.isEmpty(), is(false));
+            for (A a : list) {
+                assertThat(a.i, notNullValue());
+            }
+        }
+    }
+
+    @Test
+    public void testPopulatingTraverserFallsBackForUnsupportedTypes()  {
+        Initializers initializers = new Initializers();
+        PopulatingTraverser populatingTraverser =
+                new PopulatingTraverser(initializers, InitializationPolicy.ONLY_NULLS);
+        FieldTraverser reflectiveTraverser =
+                new FieldTraverser(new InitializingTraversingProcessor(initializers, InitializationPolicy.ONLY_NULLS));
+        Runnable runnable = () -> { };
+
+        ClassWithRunnableAndValues reflective = new ClassWithRunnableAndValues();
+        reflective.runnable = runnable;
+        reflectiveTraverser.process(reflective,
+                new ClassTreeTraverserContext(reflectiveTraverser, RandomSource.seeded(1)));
+        ClassWithRunnableAndValues populated = new ClassWithRunnableAndValues();
+        populated.runnable = runnable;
+        populatingTraverser.process(populated,
+                new ClassTreeTraverserContext(populatingTraverser, RandomSource.seeded(1)));
+
+        assertThat(populated.runnable, sameInstance(runnable));
+        assertThat(populated.name, notNullValue());
+        assertThat(populated.name, is(reflective.name));
+        assertThat(populated.number, notNullValue());
+        assertThat(populated.number, is(reflective.number));
+    }
+
+    @Test
+    public void testPopulatingTraverserReportsUnknownInitializer()  {
+        expectedException.expect(IllegalStateException.class);
+        expectedException.expectMessage("Unknown initializer for type: java.lang.Runnable");
+
+        new PopulatingTraverser().process(new ClassWithRunnable());
+    }
+
+    @Test
+    public void testInitializingPrimitiveArrays()  {
+        ClassWithPrimitiveArrays actual = traverser.process(new ClassWithPrimitiveArrays());
+
+        assertThat(actual.ints.length, greaterThan(0));
+        assertThat(actual.longs.length, greaterThan(0));
+        assertThat(actual.bytes.length, greaterThan(0));
+        assertThat(actual.booleans.length, greaterThan(0));
+        assertThat(actual.doubles.length, greaterThan(0));
+    }
+
+    @Test
+    public void testInitializingLargeConfiguredArrays()  {
+        List<Initializer> initializerList = Initializers.createDefaultInitializers();
+        initializerList.add(0, new ArrayInitializer(1 << 20, 1 << 20));
+        FieldTraverser configuredTraverser =
+                new FieldTraverser(new InitializingTraversingProcessor(new Initializers(initializerList)));
+
+        ClassWithPrimitiveArrays actual = configuredTraverser.process(new ClassWithPrimitiveArrays());
+
+        assertThat(actual.bytes.length, is(1 << 20));
+        assertThat(actual.booleans.length, is(1 << 20));
+    }
+
+    @Test
+    public void testPrimitiveArraysUseRegisteredItemInitializer()  {
+        List<Initializer> initializerList = Initializers.createDefaultInitializers();
+        initializerList.add(0, new IntInitializer() {
+            @Override
+            public int getInt(ClassTreeTraverserContext context) {
+                return 1 + random(context).nextInt(6);
+            }
+        });
+        FieldTraverser configuredTraverser =
+                new FieldTraverser(new InitializingTraversingProcessor(new Initializers(initializerList)));
+
+        ClassWithPrimitiveArrays actual = configuredTraverser.process(new ClassWithPrimitiveArrays());
+        assertThat(actual.ints.length, greaterThan(0));
+        for (int item : actual.ints) {
+            assertTrue(1 <= item && item <= 6);
+        }
+
+        Arrays.fill(actual.ints, 0);
+        new PopulatingTraverser(new Initializers(initializerList), InitializationPolicy.REFILL).process(actual);
+        for (int item : actual.ints) {
+            assertTrue(1 <= item && item <= 6);
+        }
+    }
+
+    @Test
+    public void testRegisteredCollectionFactory()  {
+        CollectionFactories collectionFactories = CollectionFactories.createDefault()
+                .register(List.class, CollectionFactories.unmodifiableList());
+        FieldTraverser configuredTraverser = new FieldTraverser(new InitializingTraversingProcessor(
+                new Initializers(Initializers.createDefaultInitializers(), collectionFactories)));
+
+        ClassWithList actual = configuredTraverser.process(new ClassWithList());
+
+        assertThat(actual.list.isEmpty(), is(false));
+        expectedException.expect(UnsupportedOperationException.class);
+        actual.list.clear();
+    }
+
+    @Test
+    public void testAbstractCollectionsUseDefaultImplementations()  {
+        assertEquals(ArrayList.class, traverser.process(new ClassWithList()).list.getClass());
+        assertEquals(HashSet.class, traverser.process(new ClassWithSet()).set.getClass());
+        assertEquals(HashMap.class, traverser.process(new ClassWithMap()).map.getClass());
+    }
+
+    @Test
+    public void testQueuesAcceptNullItems()  {
+        ClassWithQueues actual = traverser.process(new ClassWithQueues());
+
+        assertEquals(LinkedList.class, actual.queue.getClass());
+        assertEquals(LinkedList.class, actual.deque.getClass());
+        assertThat(actual.queue.isEmpty(), is(false));
+        for (ClassWithQueues item : actual.queue) {
+            assertThat(item, nullValue());
+        }
+    }
+
+    @Test
+    public void testRefillReusesExistingInstances()  {
+        FieldTraverser refillingTraverser = new FieldTraverser(
+                new InitializingTraversingProcessor(new Initializers(), InitializationPolicy.REFILL));
+        ClassWithListsOfLists instance = traverser.process(new ClassWithListsOfLists());
+        List<List<A>> listOfLists = instance.listOfLists;
+        List<A> firstList = listOfLists.get(0);
+        A firstItem = firstList.get(0);
+        int size = listOfLists.size();
+
+        refillingTraverser.process(instance);
+
+        assertThat(instance.listOfLists, sameInstance(listOfLists));
+        assertThat(instance.listOfLists.size(), is(size));
+        assertThat(instance.listOfLists.get(0), sameInstance(firstList));
+        assertThat(instance.listOfLists.get(0).get(0), sameInstance(firstItem));
+        assertThat(firstItem.i, notNullValue());
+
+        ClassWithPrimitiveArrays arrays = traverser.process(new ClassWithPrimitiveArrays());
+        int[] ints = arrays.ints;
+        new PopulatingTraverser(new Initializers(), InitializationPolicy.REFILL).process(arrays);
+        assertThat(arrays.ints, sameInstance(ints));
+    }
+
+    @Test
+    public void testOnlyNullsKeepsExistingValues()  {
+        FieldTraverser onlyNullsTraverser = new FieldTraverser(
+                new InitializingTraversingProcessor(new Initializers(), InitializationPolicy.ONLY_NULLS));
+        B instance = new B();
+        instance.i = 42;
+
+        onlyNullsTraverser.process(instance);
+        assertThat(instance.i, is(42));
+        assertThat(instance.ii, notNullValue());
+
+        ClassWithPrimitives primitives = new ClassWithPrimitives();
+        new PopulatingTraverser(new Initializers(), InitializationPolicy.ONLY_NULLS).process(primitives);
+        assertThat(primitives.primitiveInt, is(0));
+        assertThat(primitives.boxedLong, notNullValue());
+    }
+
+    @Test
+    public void testCyclesAreLeftNull()  {
+        SelfReferencing actual = traverser.process(new SelfReferencing());
+
+        assertThat(actual.name, notNullValue());
+        assertThat(actual.next, nullValue());
+        assertThat(actual.wrapper.name, notNullValue());
+        assertThat(actual.wrapper.owner, nullValue());
+    }
+
+    @Test
+    public void testCyclesReuseInstances()  {
+        Initializers initializers = new Initializers(Initializers.createDefaultInitializers(),
+                CollectionFactories.createDefault(),
+                GenerationLimits.defaults().withCyclePolicy(CyclePolicy.REUSE_INSTANCE));
+
+        SelfReferencing actual = new PopulatingTraverser(initializers).process(new SelfReferencing());
+
+        assertThat(actual.next, sameInstance(actual));
+        assertThat(actual.wrapper.owner, sameInstance(actual));
+    }
+
+    @Test
+    public void testRecursionLimit()  {
+        SelfReferencing defaultLimits = new PopulatingTraverser().process(new SelfReferencing());
+        assertThat(defaultLimits.next, nullValue());
+
+        Initializers initializers = new Initializers(Initializers.createDefaultInitializers(),
+                CollectionFactories.createDefault(),
+                GenerationLimits.defaults().withMaxRecursion(2));
+        SelfReferencing actual = new PopulatingTraverser(initializers).process(new SelfReferencing());
+
+        assertThat(actual.next, notNullValue());
+        assertThat(actual.next.next, notNullValue());
+        assertThat(actual.next.next.name, notNullValue());
+        assertThat(actual.next.next.next, nullValue());
+        assertThat(actual.next.next.wrapper.owner, nullValue());
+
+        Initializers reusing = new Initializers(Initializers.createDefaultInitializers(),
+                CollectionFactories.createDefault(),
+                GenerationLimits.defaults().withMaxRecursion(1).withCyclePolicy(CyclePolicy.REUSE_INSTANCE));
+        SelfReferencing reused = new PopulatingTraverser(reusing).process(new SelfReferencing());
+
+        assertThat(reused.next, not(sameInstance(reused)));
+        assertThat(reused.next.next, sameInstance(reused.next));
+    }
+
+    @Test
+    public void testGenerationLimits()  {
+        Initializers initializers = new Initializers(Initializers.createDefaultInitializers(),
+                CollectionFactories.createDefault(),
+                GenerationLimits.defaults().withMaxDepth(1).withMaxCollectionItems(2));
+        FieldTraverser limitedTraverser = new FieldTraverser(new InitializingTraversingProcessor(initializers));
+
+        ClassWithListsOfLists lists = limitedTraverser.process(new ClassWithListsOfLists());
+        assertThat(lists.listOfLists.size(), lessThanOrEqualTo(2));
+        for (List<A> list : lists.listOfLists) {
+            assertThat(list.size(), lessThanOrEqualTo(2));
+            for (A a : list) {
+                assertThat(a.i, notNullValue());
+            }
+        }
+
+        SelfReferencing tooDeep = limitedTraverser.process(new SelfReferencing());
+        assertThat(tooDeep.wrapper, notNullValue());
+        assertThat(tooDeep.wrapper.list, nullValue());
+
+    }
+
+    @Test
+    public void testGenerationLimitsObjectBudget()  {
+        Initializers budgeted = new Initializers(Initializers.createDefaultInitializers(),
+                CollectionFactories.createDefault(),
+                GenerationLimits.defaults().withMaxObjects(1));
+        PopulatingTraverser budgetedTraverser = new PopulatingTraverser(budgeted);
+        ClassTreeTraverserContext context = new ClassTreeTraverserContext(budgetedTraverser);
+        ClassWithListsOfLists limited = budgetedTraverser.process(new ClassWithListsOfLists(), context);
+        assertThat(limited.listOfLists, notNullValue());
+        for (List<A> list : limited.listOfLists) {
+            assertThat(list, nullValue());
+        }
+        assertThat(context.getTraversalState().getCreatedObjects(), is(1L));
+    }
+
+    @Test
+    public void testTypeVariablesResolvedAgainstSubclass()  {
+        GenericChild actual = traverser.process(new GenericChild());
+
+        assertThat(actual.value, instanceOf(A.class));
+        assertThat(actual.value.i, notNullValue());
+        assertThat(actual.values.isEmpty(), is(false));
+        assertThat(actual.values.get(0).i, notNullValue());
+        assertThat(actual.array.getClass(), CoreMatchers.<Class<?>>is(A[].class));
+        assertThat(actual.array[0].i, notNullValue());
+
+        TypePlan.FieldPlan value = TypePlan.of(GenericChild.class).getFields().get(0);
+        assertThat(value.getType(), CoreMatchers.<Class<?>>is(A.class));
+        assertThat(value.getGenericType(), is((Type) A.class));
+    }
+
+    @Test
+    public void testNestedWildcardsAndGenericArrays()  {
+        ClassWithWildcards actual = new PopulatingTraverser().process(new ClassWithWildcards());
+
+        assertThat(actual.nested.isEmpty(), is(false));
+        assertThat(actual.nested.get(0).get(0).i, notNullValue());
+        assertThat(actual.map.isEmpty(), is(false));
+        assertThat(actual.arrayOfLists[0].get(0), notNullValue());
+    }
+
+    @Test
+    public void testGenerationMetrics() throws Exception {
+        GenerationMetrics metrics = new GenerationMetrics(true);
+        Initializers initializers = new Initializers(Initializers.createDefaultInitializers(),
+                CollectionFactories.createDefault(), GenerationLimits.defaults(), metrics, ParallelFill.disabled());
+
+        new PopulatingTraverser(initializers).process(new ClassWithListsOfLists());
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getValuesByType().get(List.class).getCount(), greaterThan(1L));
+        assertThat(snapshot.getValuesByType().get(Integer.class).getCount(), greaterThan(0L));
+        assertThat(snapshot.getValuesByInitializer().get(ListInitializer.class).getNanos(), greaterThan(0L));
+        assertThat(snapshot.getInstancesByType().get(A.class).getCount(), greaterThan(0L));
+        assertThat(snapshot.getMaxDepth(), is(2));
+
+        ObjectName name = metrics.registerMBean("utils.metrics:type=GenerationMetrics,name=test");
+        try {
+            Object generatedValues = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "GeneratedValues");
+            assertEquals(snapshot.getGeneratedValues(), generatedValues);
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+
+        metrics.reset();
+        assertThat(metrics.snapshot().getGeneratedValues(), is(0L));
+    }
+
+    @Test
+    public void testGenerationMetricsCountPrimitiveValues()  {
+        GenerationMetrics metrics = new GenerationMetrics(false);
+        Initializers initializers = new Initializers(Initializers.createDefaultInitializers(),
+                CollectionFactories.createDefault(), GenerationLimits.defaults(), metrics, ParallelFill.disabled());
+
+        new PopulatingTraverser(initializers).process(new ClassWithPrimitives());
+        new FieldTraverser(new InitializingTraversingProcessor(initializers)).process(new ClassWithPrimitives());
+        new SinkGenerator(initializers, 1).writeRecord(ClassWithPrimitives.class, 0, RecordFormat.JSON_LINES,
+                ByteBuffer.allocate(1024));
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getValuesByType().get(int.class).getCount(), is(3L));
+        assertThat(snapshot.getValuesByType().get(char.class).getCount(), is(3L));
+        assertThat(snapshot.getValuesByInitializer().get(IntInitializer.class).getCount(), is(3L));
+        //listener given to initializers observes traversals by both traversers as well.
+        assertThat(snapshot.getInstancesByType().get(ClassWithPrimitives.class).getCount(), is(2L));
+    }
+
+    @Test
+    public void testStringShapes()  {
+        ClassTreeTraverserContext context = new ClassTreeTraverserContext(traverser, RandomSource.seeded(1));
+
+        StringInitializer defaultInitializer = new StringInitializer();
+        for (int i = 0; i < 100; i++) {
+            String value = (String) defaultInitializer.getValue(String.class, String.class, context);
+            assertThat(value.matches("[A-Za-z0-9]{8,16}"), is(true));
+        }
+
+        StringInitializer custom =
+                new StringInitializer(Alphabet.range('\u0400', '\u04FF'), LengthDistribution.fixed(100));
+        String cyrillic = (String) custom.getValue(String.class, String.class, context);
+        assertThat(cyrillic.length(), is(100));
+        assertThat(cyrillic.chars().allMatch(c -> c >= 0x400 && c <= 0x4FF), is(true));
+
+        StringInitializer latin1 = new StringInitializer(Alphabet.LATIN_1, LengthDistribution.uniform(0, 3));
+        for (int i = 0; i < 100; i++) {
+            String value = (String) latin1.getValue(String.class, String.class, context);
+            assertThat(value.length(), lessThanOrEqualTo(3));
+            assertThat(value.chars().allMatch(c -> c >= 0x20 && c <= 0x7E || c >= 0xA0 && c <= 0xFF), is(true));
+        }
+
+        List<String> dictionary = Arrays.asList("alpha", "beta", "gamma");
+        StringInitializer fromDictionary = StringInitializer.fromDictionary(dictionary);
+        for (int i = 0; i < 10; i++) {
+            assertThat(dictionary.contains(fromDictionary.getValue(String.class, String.class, context)), is(true));
+        }
+    }
+
+    @Test
+    public void testUuidModes()  {
+        ClassTreeTraverserContext context = new ClassTreeTraverserContext(traverser, RandomSource.seeded(1));
+        ClassTreeTraverserContext sameSeed = new ClassTreeTraverserContext(traverser, RandomSource.seeded(1));
+
+        UuidInitializer random = new UuidInitializer();
+        UUID uuid = (UUID) random.getValue(UUID.class, UUID.class, context);
+        assertThat(uuid.version(), is(4));
+        assertThat(uuid.variant(), is(2));
+        assertThat(random.getValue(UUID.class, UUID.class, sameSeed), is((Object) uuid));
+
+        UuidInitializer timeOrdered = new UuidInitializer(UuidMode.TIME_ORDERED);
+        UUID first = (UUID) timeOrdered.getValue(UUID.class, UUID.class, context);
+        assertThat(first.version(), is(7));
+        assertThat(first.variant(), is(2));
+        assertThat(first.getMostSignificantBits() >>> 16, greaterThan(UuidInitializer.DATASET_EPOCH_MILLIS));
+
+        ClassTreeTraverserContext record =
+                new ClassTreeTraverserContext(traverser, RandomSource.seeded(1), new TraversalState(1, 5));
+        UUID fifth = (UUID) timeOrdered.getValue(UUID.class, UUID.class, record);
+        assertThat(fifth.version(), is(7));
+        assertThat(fifth.getMostSignificantBits() >>> 16, is(UuidInitializer.DATASET_EPOCH_MILLIS + 5));
+
+        assertThat(((UUID) new UuidInitializer(UuidMode.SECURE).getValue(UUID.class, UUID.class, context)).version(),
+                is(4));
+    }
+
+    @Test
+    public void testTraversalStateRejectsNegativeRecordIndex()  {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Record index cannot be negative: -1");
+
+        new TraversalState(1, -1);
+    }
+
+    @Test
+    public void testParallelFillDoesNotDependOnThreadCount()  {
+        ClassWithLargeList singleThread = populateLargeList(new ForkJoinPool(1));
+        ClassWithLargeList fourThreads = populateLargeList(new ForkJoinPool(4));
+
+        assertThat(fourThreads.items.size(), is(3000));
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < 3000; i++) {
+            LargeListItem expected = singleThread.items.get(i);
+            LargeListItem actual = fourThreads.items.get(i);
+            assertThat(actual.id, is(expected.id));
+            assertThat(actual.text, is(expected.text));
+            assertThat(actual.a.i, is(expected.a.i));
+            ids.add(actual.id);
+        }
+        assertThat(ids.size(), is(3000));
+        assertThat(fourThreads.id, is(singleThread.id));
+    }
+
+    @Test
+    public void testParallelFillOfMapsAndSetsDoesNotDependOnThreadCount()  {
+        ClassWithLargeMapAndSet sequential = populateLargeMapAndSet(ParallelFill.disabled());
+        ClassWithLargeMapAndSet singleThread = populateLargeMapAndSet(
+                ParallelFill.aboveItems(1000).withChunkSize(100).withPool(new ForkJoinPool(1)));
+        ClassWithLargeMapAndSet fourThreads = populateLargeMapAndSet(
+                ParallelFill.aboveItems(1000).withChunkSize(100).withPool(new ForkJoinPool(4)));
+
+        assertThat(fourThreads.set.size(), is(3000));
+        assertThat(fourThreads.set, is(singleThread.set));
+        assertThat(fourThreads.map.size(), is(3000));
+        assertThat(fourThreads.map.keySet(), is(singleThread.map.keySet()));
+        for (Map.Entry<UUID, LargeListItem> entry : fourThreads.map.entrySet()) {
+            LargeListItem expected = singleThread.map.get(entry.getKey());
+            assertThat(entry.getValue().id, is(expected.id));
+            assertThat(entry.getValue().text, is(expected.text));
+            assertThat(entry.getValue().a.i, is(expected.a.i));
+        }
+
+        //values generated in chunks come from split random streams, so they differ from sequentially generated ones.
+        assertThat(singleThread.set, not(sequential.set));
+        assertThat(singleThread.map.keySet(), not(sequential.map.keySet()));
+    }
+
+    private static ClassWithLargeMapAndSet populateLargeMapAndSet(ParallelFill parallelFill) {
+        List<Initializer> initializerList = Initializers.createDefaultInitializers();
+        initializerList.add(0, new SetInitializer(3000, 3000));
+        initializerList.add(0, new MapInitializer(3000, 3000));
+        Initializers initializers = new Initializers(initializerList,
+                CollectionFactories.createDefault(), GenerationLimits.defaults(), null, parallelFill);
+
+        PopulatingTraverser populatingTraverser = new PopulatingTraverser(initializers);
+        ClassTreeTraverserContext context = new ClassTreeTraverserContext(populatingTraverser,
+                RandomSource.seeded(3), new TraversalState(3, 0));
+        return populatingTraverser.process(new ClassWithLargeMapAndSet(), context);
+    }
+
+    private static ClassWithLargeList populateLargeList(ForkJoinPool pool) {
+        List<Initializer> initializerList = Initializers.createDefaultInitializers();
+        initializerList.add(0, new ListInitializer(3000, 3000));
+        Initializers initializers = new Initializers(initializerList, CollectionFactories.createDefault(),
+                GenerationLimits.defaults(), null, ParallelFill.aboveItems(1000).withChunkSize(100).withPool(pool));
+
+        PopulatingTraverser populatingTraverser = new PopulatingTraverser(initializers);
+        ClassTreeTraverserContext context = new ClassTreeTraverserContext(populatingTraverser,
+                RandomSource.seeded(3), new TraversalState(3, 0));
+        return populatingTraverser.process(new ClassWithLargeList(), context);
+    }
     //--------------------------------------------------
 
+    private static class StubTraverserNode implements TraverserNode {
+        @Override
+        public Object getValue() {
+            return null;
+        }
+
+        @Override
+        public Type getGenericType() {
+            return Object.class;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return Object.class;
+        }
+    }
+
     public static class A {
         public Integer i = null;
     }
@@ -302,6 +951,42 @@ public class InstanceReflectionUtilTest {
 
     }
 
+    public static class ClassWithStaticField {
+        public static Integer staticField = null;
+        public Integer i = null;
+    }
+
+    public static class ClassWithPrimitives {
+        public int primitiveInt;
+        public boolean primitiveBoolean;
+        public long primitiveLong;
+        public short primitiveShort;
+        public byte primitiveByte;
+        public char primitiveChar;
+        public float primitiveFloat;
+        public double primitiveDouble;
+        public Long boxedLong;
+        public Double boxedDouble;
+    }
+
+    public static class ClassWithRunnable {
+        public Runnable runnable;
+    }
+
+    public static class ClassWithRunnableAndValues {
+        public Runnable runnable;
+        public String name;
+        public Integer number;
+    }
+
+    public static class ClassWithPrimitiveArrays {
+        public int[] ints;
+        public long[] longs;
+        public byte[] bytes;
+        public boolean[] booleans;
+        public double[] doubles;
+    }
+
     public static class ClassWithList {
         public List<B> list;
     }
@@ -362,8 +1047,55 @@ public class InstanceReflectionUtilTest {
         public List<List<A>> listOfLists;
     }
 
+    public static class SelfReferencing {
+        public String name;
+        public SelfReferencing next;
+        public Wrapper wrapper;
+    }
+
+    public static class ClassWithQueues {
+        public Queue<ClassWithQueues> queue;
+        public Deque<String> deque;
+    }
+
+    public static class Wrapper {
+        public String name;
+        public SelfReferencing owner;
+        public List<Integer> list;
+    }
+
+    public static class GenericBase<T> {
+        public T value;
+        public List<T> values;
+        public T[] array;
+    }
+
+    public static class GenericChild extends GenericBase<A> {
+    }
+
+    public static class ClassWithWildcards {
+        public List<? extends List<? extends A>> nested;
+        public Map<String, ? super Integer> map;
+        public List<? extends Long>[] arrayOfLists;
+    }
+
     public enum SomeEnum {
         A,B,C
     }
 
+    public static class ClassWithLargeList {
+        public List<LargeListItem> items;
+        public UUID id;
+    }
+
+    public static class ClassWithLargeMapAndSet {
+        public Map<UUID, LargeListItem> map;
+        public Set<UUID> set;
+    }
+
+    public static class LargeListItem {
+        public UUID id;
+        public String text;
+        public A a;
+    }
 }
@@ -0,0 +1,137 @@
+package utils.generator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import utils.Initializers;
+import utils.initializers.Alphabet;
+import utils.initializers.Initializer;
+import utils.initializers.LengthDistribution;
+import utils.initializers.StringInitializer;
+import utils.traverser.FieldTraverser;
+import utils.traverser.InitializingTraversingProcessor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class GeneratorTest {
+
+    private final FieldTraverser traverser = new FieldTraverser(new InitializingTraversingProcessor());
+
+    @Test
+    public void testGeneratedRecordsDoNotDependOnParallelism() {
+        List<Item> sequential = new Generator(traverser, 42, new ForkJoinPool(1)).generate(Item.class, 100);
+        List<Item> parallel = new Generator(traverser, 42, new ForkJoinPool(4)).generate(Item.class, 100);
+
+        assertThat(parallel.size(), is(100));
+        for (int i = 0; i < sequential.size(); i++) {
+            assertSameItem(parallel.get(i), sequential.get(i));
+        }
+    }
+
+    @Test
+    public void testSingleRecordMatchesBatch() {
+        Generator generator = new Generator(traverser, 7, ForkJoinPool.commonPool());
+        List<Item> batch = generator.generate(Item.class, 10);
+
+        assertSameItem(generator.generateRecord(Item.class, 5), batch.get(5));
+    }
+
+    @Test
+    public void testStreamMatchesBatch() {
+        Generator generator = new Generator(traverser, 11, ForkJoinPool.commonPool());
+        List<Item> batch = generator.generate(Item.class, 50);
+
+        List<Item> sequential = generator.stream(Item.class, 50).collect(Collectors.toList());
+        List<Item> parallel = generator.stream(Item.class, 50).parallel().collect(Collectors.toList());
+        List<Item> unbounded = generator.stream(Item.class).limit(50).collect(Collectors.toList());
+
+        for (int i = 0; i < batch.size(); i++) {
+            assertSameItem(sequential.get(i), batch.get(i));
+            assertSameItem(parallel.get(i), batch.get(i));
+            assertSameItem(unbounded.get(i), batch.get(i));
+        }
+    }
+
+    @Test
+    public void testShardsMatchWholeDataset() {
+        Generator generator = new Generator(traverser, 13, ForkJoinPool.commonPool());
+        List<Item> whole = generator.stream(Item.class, 100).collect(Collectors.toList());
+
+        List<Item> sharded = new ArrayList<>();
+        for (int shardIndex = 0; shardIndex < 3; shardIndex++) {
+            //each shard uses its own generator, as different node would.
+            Generator shardGenerator = new Generator(traverser, 13, ForkJoinPool.commonPool());
+            sharded.addAll(shardGenerator.streamShard(Item.class, 100, shardIndex, 3).collect(Collectors.toList()));
+        }
+
+        assertThat(sharded.size(), is(100));
+        Set<UUID> ids = new HashSet<>();
+        Set<String> texts = new HashSet<>();
+        for (int i = 0; i < whole.size(); i++) {
+            assertSameItem(sharded.get(i), whole.get(i));
+            ids.add(sharded.get(i).id);
+            ids.add(sharded.get(i).otherId);
+            texts.add(sharded.get(i).text);
+        }
+        assertThat(ids.size(), is(200));
+        assertThat(texts.size(), is(100));
+        assertThat(Generator.shardStart(10, 1, 3), is(4L));
+    }
+
+    @Test
+    public void testStringsOfRecordsRespectConfiguredShape() {
+        StringInitializer hex = new StringInitializer(Alphabet.of("0123456789abcdef"), LengthDistribution.fixed(8));
+
+        List<Item> items = generatorWithStrings(hex).generate(Item.class, 100);
+        for (Item item : items) {
+            assertThat(item.text, item.text.matches("[0-9a-f]{8}"), is(true));
+        }
+
+        List<Item> uniqueItems = generatorWithStrings(hex.withUniqueSuffix()).generate(Item.class, 100);
+        Set<String> texts = new HashSet<>();
+        for (Item item : uniqueItems) {
+            assertThat(item.text, item.text.matches("[0-9a-f]{8}-[0-9a-z]+\\.[0-9a-z]+"), is(true));
+            texts.add(item.text);
+        }
+        assertThat(texts.size(), is(100));
+    }
+
+    private static Generator generatorWithStrings(StringInitializer stringInitializer) {
+        List<Initializer> initializers = Initializers.createDefaultInitializers();
+        initializers.add(0, stringInitializer);
+        FieldTraverser traverser =
+                new FieldTraverser(new InitializingTraversingProcessor(new Initializers(initializers)));
+        return new Generator(traverser, 17, ForkJoinPool.commonPool());
+    }
+
+    static void assertSameItem(Item actual, Item expected) {
+        assertThat(actual, notNullValue());
+        assertThat(actual.number, is(expected.number));
+        assertThat(actual.text, is(expected.text));
+        assertThat(actual.id, is(expected.id));
+        assertThat(actual.otherId, is(expected.otherId));
+        assertThat(actual.flags.size(), is(expected.flags.size()));
+        for (int i = 0; i < expected.flags.size(); i++) {
+            assertThat(actual.flags.get(i), is(expected.flags.get(i)));
+        }
+    }
+
+    //--------------------------------------------------
+
+    public static class Item {
+        public int number;
+        public String text;
+        public UUID id;
+        public UUID otherId;
+        public List<Boolean> flags;
+    }
+}
@@ -0,0 +1,215 @@
+package utils.sink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import utils.Initializers;
+import utils.generator.Generator;
+import utils.initializers.CollectionFactories;
+import utils.initializers.GenerationLimits;
+import utils.traverser.FieldTraverser;
+import utils.traverser.InitializingTraversingProcessor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class SinkGeneratorTest {
+
+    @Test
+    public void testJsonLinesMatchGeneratedRecords() throws IOException {
+        String[] lines = write(new SinkGenerator(5), RecordFormat.JSON_LINES, 3, 7).split("\n");
+
+        List<Record> records = new Generator(5).stream(Record.class, 3, 7).collect(Collectors.toList());
+        assertThat(lines.length, is(4));
+        for (int i = 0; i < records.size(); i++) {
+            assertThat(lines[i], is(toJson(records.get(i))));
+        }
+    }
+
+    @Test
+    public void testCsvHasHeaderAndJsonCells() throws IOException {
+        String[] lines = write(new SinkGenerator(5), RecordFormat.CSV, 0, 3).split("\n");
+
+        List<Record> records = new Generator(5).stream(Record.class, 0, 3).collect(Collectors.toList());
+        assertThat(lines.length, is(4));
+        assertThat(lines[0], is("\"number\",\"text\",\"id\",\"nested\",\"values\",\"parent\""));
+        for (int i = 0; i < records.size(); i++) {
+            Record record = records.get(i);
+            String expected = record.number + ",\"" + record.text + "\"," + record.id + ",\""
+                    + toJson(record.nested).replace("\"", "\"\"") + "\",\""
+                    + toJson(record.values) + "\",";
+            assertThat(lines[i + 1], is(expected));
+        }
+
+        //header is written only with first record, so that shards can be concatenated.
+        assertThat(write(new SinkGenerator(5), RecordFormat.CSV, 1, 3).split("\n").length, is(2));
+    }
+
+    @Test
+    public void testBinaryRecordsAreLengthPrefixed() throws IOException {
+        byte[] bytes = write(new SinkGenerator(5), RecordFormat.BINARY, 0, 10).getBytes(StandardCharsets.ISO_8859_1);
+
+        List<Record> records = new Generator(5).stream(Record.class, 10).collect(Collectors.toList());
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (Record record : records) {
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+
+            assertThat(buffer.get(), is(BinaryEncoder.INT));
+            long zigzag = readVarLong(buffer);
+            assertThat((int) (zigzag >>> 1 ^ -(zigzag & 1)), is(record.number));
+
+            assertThat(buffer.get(), is(BinaryEncoder.STRING));
+            byte[] text = new byte[(int) readVarLong(buffer)];
+            buffer.get(text);
+            assertThat(new String(text, StandardCharsets.UTF_8), is(record.text));
+
+            assertThat(buffer.get(), is(BinaryEncoder.UUID));
+            assertThat(new UUID(buffer.getLong(), buffer.getLong()), is(record.id));
+
+            buffer.position(end);
+            assertThat(buffer.get(end - 1), is(BinaryEncoder.NULL));
+        }
+        assertThat(buffer.hasRemaining(), is(false));
+    }
+
+    @Test
+    public void testRecordWrittenToBufferMatchesChannel() throws IOException {
+        SinkGenerator generator = new SinkGenerator(5);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        generator.writeRecord(Record.class, 4, RecordFormat.JSON_LINES, buffer);
+
+        String expected = write(generator, RecordFormat.JSON_LINES, 4, 5);
+        assertThat(new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8), is(expected));
+
+        ByteBuffer small = ByteBuffer.allocate(16);
+        small.position(3);
+        try {
+            generator.writeRecord(Record.class, 4, RecordFormat.JSON_LINES, small);
+            fail();
+        } catch (BufferOverflowException e) {
+            assertThat(small.position(), is(3));
+        }
+    }
+
+    @Test
+    public void testSelfReferencesInsideCollectionsMatchGeneratedRecords() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new SinkGenerator(5).write(Tree.class, 0, 5, RecordFormat.JSON_LINES, Channels.newChannel(output));
+
+        ByteSink expected = ByteSink.growable(4096);
+        RecordEncoder encoder = new JsonEncoder(expected);
+        List<Tree> records = new Generator(5).stream(Tree.class, 5).collect(Collectors.toList());
+        for (Tree record : records) {
+            assertThat(record.children.isEmpty(), is(false));
+            assertThat(record.children.get(0), nullValue());
+            assertThat(record.leaves.get(0).tree, nullValue());
+            encoder.writeRecord(record);
+        }
+        ByteArrayOutputStream expectedOutput = new ByteArrayOutputStream();
+        expected.drainTo(Channels.newChannel(expectedOutput));
+
+        assertThat(output.toString("UTF-8"), is(expectedOutput.toString("UTF-8")));
+    }
+
+    @Test
+    public void testRecursionLimitMatchesGeneratedRecords() throws IOException {
+        Initializers initializers = new Initializers(Initializers.createDefaultInitializers(),
+                CollectionFactories.createDefault(), GenerationLimits.defaults().withMaxRecursion(1));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new SinkGenerator(initializers, 5).write(Tree.class, 0, 5, RecordFormat.JSON_LINES,
+                Channels.newChannel(output));
+
+        ByteSink expected = ByteSink.growable(4096);
+        RecordEncoder encoder = new JsonEncoder(expected);
+        Generator generator = new Generator(new FieldTraverser(new InitializingTraversingProcessor(initializers)), 5,
+                ForkJoinPool.commonPool());
+        List<Tree> records = generator.stream(Tree.class, 5).collect(Collectors.toList());
+        for (Tree record : records) {
+            assertThat(record.children.get(0), notNullValue());
+            assertThat(record.children.get(0).children.get(0), nullValue());
+            encoder.writeRecord(record);
+        }
+        ByteArrayOutputStream expectedOutput = new ByteArrayOutputStream();
+        expected.drainTo(Channels.newChannel(expectedOutput));
+
+        assertThat(output.toString("UTF-8"), is(expectedOutput.toString("UTF-8")));
+    }
+
+    private static String write(SinkGenerator generator, RecordFormat format, long from, long to) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long written = generator.write(Record.class, from, to, format, Channels.newChannel(output));
+        assertThat(written, is((long) output.size()));
+        Charset charset = format == RecordFormat.BINARY ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8;
+        return new String(output.toByteArray(), charset);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+    }
+
+    private static String toJson(Record record) {
+        return "{\"number\":" + record.number
+                + ",\"text\":\"" + record.text
+                + "\",\"id\":\"" + record.id
+                + "\",\"nested\":" + toJson(record.nested)
+                + ",\"values\":" + toJson(record.values)
+                + ",\"parent\":null}";
+    }
+
+    private static String toJson(Nested nested) {
+        return "{\"value\":" + nested.value + ",\"label\":\"" + nested.label + "\"}";
+    }
+
+    private static String toJson(List<Integer> values) {
+        return values.stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+
+    //--------------------------------------------------
+
+    public static class Record {
+        public int number;
+        public String text;
+        public UUID id;
+        public Nested nested;
+        public List<Integer> values;
+        public Record parent;
+    }
+
+    public static class Tree {
+        public String name;
+        public List<Tree> children;
+        public List<Leaf> leaves;
+    }
+
+    public static class Leaf {
+        public int weight;
+        public Tree tree;
+    }
+
+    public static class Nested {
+        public long value;
+        public String label;
+    }
+}
@@ -0,0 +1,142 @@
+package utils.sink;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import utils.generator.Generator;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+@SuppressWarnings({"WeakerAccess", "unused"})
+public class SnapshotTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testReloadedRecordsEqualSavedOnes() throws IOException {
+        List<Fixture> records = new Generator(3).stream(Fixture.class, 20).collect(Collectors.toList());
+        Path path = temporaryFolder.newFile().toPath();
+        Snapshot.save(path, Fixture.class, records);
+
+        try (Snapshot<Fixture> snapshot = Snapshot.open(path, Fixture.class)) {
+            assertThat(snapshot.size(), is(20));
+            for (int i = 0; i < records.size(); i++) {
+                assertSameFixture(snapshot.get(i), records.get(i));
+            }
+
+            //records are decoded again on each access.
+            assertThat(snapshot.get(3), not(sameInstance(snapshot.get(3))));
+            List<Fixture> streamed = snapshot.stream().parallel().collect(Collectors.toList());
+            assertSameFixture(streamed.get(19), records.get(19));
+            assertSameFixture(snapshot.asList().get(7), records.get(7));
+        }
+    }
+
+    @Test
+    public void testSingleGraphAndEmptySnapshot() throws IOException {
+        Fixture fixture = new Generator(4).generateRecord(Fixture.class, 0);
+        Path single = temporaryFolder.newFile().toPath();
+        Snapshot.save(single, Fixture.class, Collections.singletonList(fixture));
+        try (Snapshot<Fixture> snapshot = Snapshot.open(single, Fixture.class)) {
+            assertSameFixture(snapshot.get(0), fixture);
+        }
+
+        Path empty = temporaryFolder.newFile().toPath();
+        Snapshot.save(empty, Fixture.class, Collections.emptyList());
+        try (Snapshot<Fixture> snapshot = Snapshot.open(empty, Fixture.class)) {
+            assertThat(snapshot.size(), is(0));
+        }
+    }
+
+    @Test
+    public void testSnapshotOfDifferentTypeIsRejected() throws IOException {
+        Path path = temporaryFolder.newFile().toPath();
+        Snapshot.save(path, Nested.class, Arrays.asList(new Nested(), new Nested()));
+
+        try (Snapshot<Fixture> snapshot = Snapshot.open(path, Fixture.class)) {
+            fail();
+        } catch (IllegalArgumentException e) {
+            //expected.
+        }
+    }
+
+    private static void assertSameFixture(Fixture actual, Fixture expected) {
+        assertThat(actual.intValue, is(expected.intValue));
+        assertThat(actual.longValue, is(expected.longValue));
+        assertThat(actual.shortValue, is(expected.shortValue));
+        assertThat(actual.byteValue, is(expected.byteValue));
+        assertThat(actual.charValue, is(expected.charValue));
+        assertThat(actual.booleanValue, is(expected.booleanValue));
+        assertThat(actual.floatValue, is(expected.floatValue));
+        assertThat(actual.doubleValue, is(expected.doubleValue));
+        assertThat(actual.boxedInt, is(expected.boxedInt));
+        assertThat(actual.text, is(expected.text));
+        assertThat(actual.id, is(expected.id));
+        assertThat(actual.date, is(expected.date));
+        assertThat(actual.color, is(expected.color));
+        assertThat(actual.bytes, is(expected.bytes));
+        assertThat(actual.doubles, is(expected.doubles));
+        assertThat(actual.names, is(expected.names));
+        assertThat(actual.ids, is(expected.ids));
+        assertThat(actual.counts, is(expected.counts));
+        assertThat(actual.nested.label, is(expected.nested.label));
+        assertThat(actual.nested.value, is(expected.nested.value));
+        assertThat(actual.nestedItems.size(), is(expected.nestedItems.size()));
+        for (int i = 0; i < expected.nestedItems.size(); i++) {
+            assertThat(actual.nestedItems.get(i).label, is(expected.nestedItems.get(i).label));
+        }
+        assertThat(actual.self, nullValue());
+    }
+
+    //--------------------------------------------------
+
+    public enum Color {
+        RED, GREEN, BLUE
+    }
+
+    public static class Fixture {
+        public int intValue;
+        public long longValue;
+        public short shortValue;
+        public byte byteValue;
+        public char charValue;
+        public boolean booleanValue;
+        public float floatValue;
+        public double doubleValue;
+        public Integer boxedInt;
+        public String text;
+        public UUID id;
+        public Date date;
+        public Color color;
+        public byte[] bytes;
+        public double[] doubles;
+        public List<String> names;
+        public Set<UUID> ids;
+        public Map<String, Long> counts;
+        public Nested nested;
+        public List<Nested> nestedItems;
+        public Fixture self;
+    }
+
+    public static class Nested {
+        public String label;
+        public long value;
+    }
+}